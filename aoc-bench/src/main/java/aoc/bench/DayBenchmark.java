@@ -0,0 +1,62 @@
+package aoc.bench;
+
+import aoc.utils.AbstractDay;
+import aoc.utils.Days;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks both parts of every day. The input is loaded once per trial so only the solvers are measured,
+ * models cached through {@code AbstractDay.parsed} are parsed in the first iteration and reused afterwards.
+ * Run through {@link #main} (or {@code gradle jmh}) to benchmark every day found on the classpath,
+ * pass {@code -p day=aoc.week3.Day15} to pick specific ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Daoc.cache=false")
+public class DayBenchmark {
+
+    @Param({})
+    public String day;
+
+    private AbstractDay solver;
+
+    @Setup(Level.Trial)
+    public void setup() throws ClassNotFoundException {
+        solver = Days.create(Class.forName(day).asSubclass(AbstractDay.class));
+    }
+
+    @Benchmark
+    public String solve1() {
+        return solver.solve1();
+    }
+
+    @Benchmark
+    public String solve2() {
+        return solver.solve2();
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cmd);
+        if (cmd.getIncludes().isEmpty()) {
+            options.include(DayBenchmark.class.getName());
+        }
+        if (!cmd.getParameter("day").hasValue()) {
+            options.param("day", Days.discover().stream().map(Class::getName).toArray(String[]::new));
+        }
+        options.addProfiler(GCProfiler.class);
+        new Runner(options.build()).run();
+    }
+}
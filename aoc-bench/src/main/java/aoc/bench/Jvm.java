@@ -0,0 +1,23 @@
+package aoc.bench;
+
+import java.lang.module.ModuleFinder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Options for the JVMs the benchmarks fork from this one's {@code java.home}.
+ */
+final class Jvm {
+    private Jvm() {
+    }
+
+    /**
+     * Lets the forked JVM use the Vector API pair scan of Day1 when this JDK has the incubator module.
+     */
+    static List<String> vectorModule() {
+        return ModuleFinder.ofSystem().find("jdk.incubator.vector").isPresent()
+                ? Arrays.asList("--add-modules", "jdk.incubator.vector")
+                : Collections.emptyList();
+    }
+}
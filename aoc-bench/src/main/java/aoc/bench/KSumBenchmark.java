@@ -0,0 +1,96 @@
+package aoc.bench;
+
+import aoc.week1.PairScan;
+import aoc.week1.PairScans;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The brute force pair scan of Day1 three ways: the nested loop Day1 used to have, the scalar {@link PairScan}
+ * and the Vector API one. Every entry is even and the target odd, so nothing matches and each call compares all
+ * {@code n^2 / 2} pairs. {@link #main} (or {@code gradle ksumBenchmark}) leaves out the vector scan when this JVM
+ * can't run it, and otherwise forks with {@code --add-modules jdk.incubator.vector}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KSumBenchmark {
+    private static final int TARGET = 2021;
+
+    @Param({"200", "2000"})
+    public int n;
+
+    @Param({"loop", "scalar", "vector"})
+    public String scan;
+
+    private int[] expenses;
+    private PairScan pairScan;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(2020);
+        expenses = new int[n];
+        for (int i = 0; i < n; i++) {
+            expenses[i] = 2 * random.nextInt(1010);
+        }
+        pairScan = scan.equals("vector") ? PairScans.vector() : PairScans.SCALAR;
+        if (pairScan == null) throw new IllegalStateException("the Vector API scan isn't available in this JVM");
+    }
+
+    @Benchmark
+    public long find() {
+        if (scan.equals("loop")) {
+            return loop();
+        }
+        return pairScan.find(expenses, 0, TARGET);
+    }
+
+    private long loop() {
+        for (int i = 0; i < expenses.length; ++i) {
+            int first = expenses[i];
+            for (int j = i + 1; j < expenses.length; ++j) {
+                int second = expenses[j];
+                if (first + second == TARGET) {
+                    return (long) i << 32 | j;
+                }
+            }
+        }
+        return PairScan.NONE;
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cmd);
+        options.include(KSumBenchmark.class.getName());
+        // the forks need the module for the vector scan whether it was picked by default or with -p scan=vector;
+        // setting jvmArgsAppend here replaces the command line's, so keep those too
+        boolean vector = PairScans.vector() != null;
+        if (vector) {
+            List<String> jvmArgs = new ArrayList<>(cmd.getJvmArgsAppend().orElse(List.of()));
+            jvmArgs.add("--add-modules=jdk.incubator.vector");
+            options.jvmArgsAppend(jvmArgs.toArray(new String[0]));
+        }
+        if (!cmd.getParameter("scan").hasValue()) {
+            if (vector) {
+                options.param("scan", "loop", "scalar", "vector");
+            } else {
+                System.err.println("no Vector API scan in this JVM, benchmarking the scalar ones only");
+                options.param("scan", "loop", "scalar");
+            }
+        }
+        new Runner(options.build()).run();
+    }
+}
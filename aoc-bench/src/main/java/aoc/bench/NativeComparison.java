@@ -0,0 +1,100 @@
+package aoc.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs days through the Runner once on the JVM and once as the native executable from {@code gradle nativeImage}.
+ * Startup is the time a fresh process takes to solve one day and exit; peak is the solve time of each part in the
+ * last round of {@code --repeat}, after the JVM had the earlier rounds to compile the hot loops.
+ *
+ * <pre>
+ * NativeComparison --jar aoc-solvers/build/libs/aoc.jar --native aoc-solvers/build/native/aoc [--days 15,23] [--runs 5] [--repeat 5]
+ * </pre>
+ */
+public final class NativeComparison {
+    private static final Pattern PART = Pattern.compile("\"part\":(\\d).*\"wallNanos\":(\\d+)");
+
+    private NativeComparison() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path jar = null;
+        Path executable = null;
+        List<String> days = Arrays.asList("15", "23");
+        int runs = 5;
+        int repeat = 5;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--jar": jar = Paths.get(args[++i]); break;
+                case "--native": executable = Paths.get(args[++i]); break;
+                case "--days": days = Arrays.asList(args[++i].split(",")); break;
+                case "--runs": runs = Integer.parseInt(args[++i]); break;
+                case "--repeat": repeat = Integer.parseInt(args[++i]); break;
+                default: throw new IllegalArgumentException("unknown argument: " + args[i]);
+            }
+        }
+        if (jar == null || executable == null) throw new IllegalArgumentException("--jar and --native are required");
+        if (!Files.isExecutable(executable)) throw new IllegalArgumentException(executable + " is missing, run gradle nativeImage first");
+
+        List<String> jvm = new ArrayList<>();
+        jvm.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        jvm.addAll(Jvm.vectorModule());
+        jvm.addAll(Arrays.asList("-Daoc.cache=false", "-Daoc.metrics=json", "-cp", jar.toString(), "aoc.utils.Runner"));
+        List<String> image = Arrays.asList(executable.toString(), "-Daoc.cache=false", "-Daoc.metrics=json");
+
+        System.out.printf("%-5s %-7s %12s %14s %14s%n", "day", "runtime", "process ms", "peak part 1", "peak part 2");
+        for (String day : days) {
+            for (boolean isNative : new boolean[]{false, true}) {
+                List<String> command = isNative ? image : jvm;
+                double[] process = new double[runs];
+                for (int r = 0; r < runs; r++) {
+                    process[r] = launch(command, day, 1).get(0);
+                }
+                List<Double> peak = launch(command, day, repeat);
+                System.out.printf("%-5s %-7s %12.1f %11.1f ms %11.1f ms%n", day, isNative ? "native" : "jvm",
+                        median(process), peak.get(1), peak.get(2));
+            }
+        }
+    }
+
+    /**
+     * Process wall time followed by the reported solve time of part 1 and part 2, all in milliseconds.
+     */
+    private static List<Double> launch(List<String> base, String day, int repeat) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(base);
+        command.addAll(Arrays.asList("--days", day, "--repeat", "" + repeat, "--threads", "1"));
+        double[] parts = new double[3];
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                Matcher m = PART.matcher(line);
+                if (m.find()) {
+                    parts[Integer.parseInt(m.group(1))] = Long.parseLong(m.group(2)) / 1e6;
+                }
+            }
+        }
+        int status = process.waitFor();
+        parts[0] = (System.nanoTime() - start) / 1e6;
+        if (status != 0) throw new IllegalStateException(String.join(" ", command) + " failed with exit code " + status);
+        return Arrays.asList(parts[0], parts[1], parts[2]);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
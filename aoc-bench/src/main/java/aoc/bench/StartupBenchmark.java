@@ -0,0 +1,98 @@
+package aoc.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts a fresh JVM per run and measures the time until a day prints its first line and until it exits,
+ * once with only the JDK's default class data sharing and once with the application archive.
+ * JMH can't do this, it forks one JVM and measures inside it.
+ *
+ * <pre>
+ * StartupBenchmark --jar aoc-solvers/build/libs/aoc.jar --archive aoc-solvers/build/aoc.jsa [--days aoc.week1.Day2,...] [--runs 10]
+ * </pre>
+ */
+public final class StartupBenchmark {
+    private static final List<String> FAST_DAYS = Arrays.asList("aoc.week1.Day2", "aoc.week1.Day5", "aoc.week2.Day12");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path jar = null;
+        Path archive = null;
+        List<String> days = FAST_DAYS;
+        int runs = 10;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--jar": jar = Paths.get(args[++i]); break;
+                case "--archive": archive = Paths.get(args[++i]); break;
+                case "--days": days = Arrays.asList(args[++i].split(",")); break;
+                case "--runs": runs = Integer.parseInt(args[++i]); break;
+                default: throw new IllegalArgumentException("unknown argument: " + args[i]);
+            }
+        }
+        if (jar == null || archive == null) throw new IllegalArgumentException("--jar and --archive are required");
+        if (!Files.exists(archive)) throw new IllegalArgumentException(archive + " does not exist, run gradle cdsArchive first");
+
+        System.out.printf("%-18s %-7s %14s %14s%n", "day", "appcds", "first line ms", "exit ms");
+        for (String day : days) {
+            for (boolean cds : new boolean[]{false, true}) {
+                // one untimed run to get the files into the page cache
+                launch(jar, archive, day, cds);
+                double[] first = new double[runs];
+                double[] exit = new double[runs];
+                for (int r = 0; r < runs; r++) {
+                    double[] times = launch(jar, archive, day, cds);
+                    first[r] = times[0];
+                    exit[r] = times[1];
+                }
+                System.out.printf("%-18s %-7s %14.1f %14.1f%n", day, cds ? "on" : "off", median(first), median(exit));
+            }
+        }
+    }
+
+    private static double[] launch(Path jar, Path archive, String day, boolean cds) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (cds) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        // the archive was dumped with the module, a run without it wouldn't share the same classes
+        command.addAll(Jvm.vectorModule());
+        command.add("-Daoc.cache=false");
+        command.add("-Daoc.metrics=off");
+        command.add("-cp");
+        command.add(jar.toString());
+        command.add(day);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        long firstLine = -1;
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            while (out.readLine() != null) {
+                if (firstLine < 0) {
+                    firstLine = System.nanoTime();
+                }
+            }
+        }
+        int status = process.waitFor();
+        long end = System.nanoTime();
+        if (status != 0 || firstLine < 0) throw new IllegalStateException(day + " failed with exit code " + status);
+        return new double[]{(firstLine - start) / 1e6, (end - start) / 1e6};
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
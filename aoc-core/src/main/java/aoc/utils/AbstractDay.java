@@ -0,0 +1,240 @@
+package aoc.utils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public abstract class AbstractDay {
+    private static final ThreadLocal<List<String>> INPUT_OVERRIDE = new ThreadLocal<>();
+
+    protected List<String> lines;
+    private InputSource source;
+    private MappedInput mapped;
+    private final Map<Function<List<String>, ?>, Object> parsed = new ConcurrentHashMap<>();
+    private AnswerCache cache;
+    private boolean linesOwned;
+
+    protected AbstractDay(String file) {
+        this(file, InputMode.fromProperties());
+    }
+
+    protected AbstractDay(String file, InputMode mode) {
+        if (INPUT_OVERRIDE.get() != null) {
+            lines = INPUT_OVERRIDE.get();
+            return;
+        }
+        source = InputSources.forResource(file);
+        if (mode == InputMode.MAPPED) {
+            mapped = MappedInput.of(source);
+            lines = mapped.asList();
+        } else {
+            lines = new LazyLines(source);
+        }
+    }
+
+    /**
+     * The bundled input of {@code day}, its class name as a lower case resource path ({@code aoc/week1/day2}).
+     * Plain string work on the binary name, which also holds up in a native image.
+     */
+    protected static String resource(Class<? extends AbstractDay> day) {
+        return day.getName().replace('.', '/').toLowerCase();
+    }
+
+    /**
+     * Every day constructed by {@code factory} on this thread reads {@code input} instead of its bundled resource.
+     */
+    public static <T> T withInput(List<String> input, Supplier<T> factory) {
+        List<String> previous = INPUT_OVERRIDE.get();
+        INPUT_OVERRIDE.set(input);
+        try {
+            return factory.get();
+        } finally {
+            if (previous == null) {
+                INPUT_OVERRIDE.remove();
+            } else {
+                INPUT_OVERRIDE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * The memory mapped input, only available when the day was loaded in {@link InputMode#MAPPED} mode.
+     */
+    protected MappedInput mapped() {
+        if (mapped == null) throw new IllegalStateException(getClass().getSimpleName() + " was not loaded in mapped mode");
+        return mapped;
+    }
+
+    /**
+     * Lazy stream of the input lines, zero-copy when the input is memory mapped. As long as nothing
+     * touched {@link #lines} the input is decoded while the stream is consumed and never held in memory.
+     */
+    protected Stream<CharSequence> lineStream() {
+        if (mapped != null) {
+            return mapped.lines();
+        }
+        if (lines instanceof LazyLines && !((LazyLines) lines).isLoaded() && source.repeatable()) {
+            return source.lines().map(s -> s);
+        }
+        return lines.stream().map(s -> s);
+    }
+
+    /**
+     * Adds {@code more} to the end of {@link #lines}, for days that are {@link Incremental}.
+     * Parsed models and the answer cache describe the old input and are dropped.
+     */
+    protected synchronized void appendLines(List<String> more) {
+        if (!linesOwned) {
+            lines = new ArrayList<>(lines);
+            linesOwned = true;
+        }
+        lines.addAll(more);
+        source = null;
+        mapped = null;
+        parsed.clear();
+        cache = null;
+    }
+
+    /**
+     * Solves {@code input} from now on instead of the input this day was created with, so a batch of inputs
+     * reuses one instance. Parsed models and the answer cache describe the old input and are dropped.
+     * Days that parse into fields of their own in the constructor override this to parse {@code input} again.
+     */
+    public synchronized void load(List<String> input) {
+        lines = input;
+        linesOwned = false;
+        source = null;
+        mapped = null;
+        parsed.clear();
+        cache = null;
+    }
+
+    /**
+     * {@link #lines} for inputs that are not memory mapped, only read once someone looks at it.
+     */
+    private static final class LazyLines extends AbstractList<String> {
+        private final InputSource source;
+        private volatile List<String> loaded;
+
+        LazyLines(InputSource source) {
+            this.source = source;
+        }
+
+        boolean isLoaded() {
+            return loaded != null;
+        }
+
+        private List<String> load() {
+            if (loaded == null) {
+                synchronized (this) {
+                    if (loaded == null) {
+                        try (Stream<String> stream = source.lines()) {
+                            loaded = stream.collect(Collectors.toList());
+                        }
+                    }
+                }
+            }
+            return loaded;
+        }
+
+        @Override
+        public String get(int index) {
+            return load().get(index);
+        }
+
+        @Override
+        public int size() {
+            return load().size();
+        }
+    }
+
+    /**
+     * Runs {@code parser} over the input the first time it is asked for and returns the same model afterwards,
+     * so both parts (and every benchmark iteration on this instance) share one parse.
+     * Parsers are compared by identity, keep them in constants. The model is shared, don't modify it.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T parsed(Function<List<String>, T> parser) {
+        Object model = parsed.get(parser);
+        if (model == null) {
+            model = parser.apply(lines);
+            Object previous = parsed.putIfAbsent(parser, model);
+            if (previous != null) {
+                model = previous;
+            }
+        }
+        return (T) model;
+    }
+
+    /**
+     * Drops every cached model, the next {@link #parsed} call parses again.
+     */
+    public void clearParsed() {
+        parsed.clear();
+    }
+
+    /**
+     * An intermediate result that survives between runs, see {@link AnswerCache}.
+     * Computed directly when the cache is disabled.
+     */
+    protected <T> T persisted(String name, AnswerCache.Codec<T> codec, Supplier<T> compute) {
+        return AnswerCache.enabled() ? cache().intermediate(name, codec, compute) : compute.get();
+    }
+
+    private synchronized AnswerCache cache() {
+        if (cache == null) {
+            cache = AnswerCache.forDay(this, lines);
+        }
+        return cache;
+    }
+
+    public abstract String solve1();
+    public abstract String solve2();
+
+    /**
+     * Prints both answers, each followed by its {@link PartMetrics} unless {@code -Daoc.metrics=off}.
+     * With {@code -Daoc.metrics=json} every part is printed as one JSON line instead.
+     * Answers come from the {@link AnswerCache} when it is on and this input was solved by this code before,
+     * their metrics say so instead of timing the lookup.
+     */
+    public void main() {
+        PartMetrics.Format format = PartMetrics.Format.fromProperties();
+        report(format, solve(1, this::solve1));
+        report(format, solve(2, this::solve2));
+    }
+
+    private PartMetrics solve(int part, Supplier<String> solver) {
+        String day = getClass().getSimpleName();
+        if (!AnswerCache.enabled()) {
+            return PartMetrics.measure(day, part, solver);
+        }
+        Optional<String> cached = cache().answer(part);
+        if (cached.isPresent()) {
+            return PartMetrics.cached(day, part, cached.get());
+        }
+        PartMetrics metrics = PartMetrics.measure(day, part, solver);
+        cache().storeAnswer(part, metrics.answer);
+        return metrics;
+    }
+
+    private static void report(PartMetrics.Format format, PartMetrics metrics) {
+        switch (format) {
+            case JSON:
+                System.out.println(metrics.toJson());
+                break;
+            case TEXT:
+                System.out.println(metrics.answer);
+                System.out.println("  " + metrics.toText());
+                break;
+            default:
+                System.out.println(metrics.answer);
+        }
+    }
+}
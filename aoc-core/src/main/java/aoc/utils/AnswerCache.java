@@ -0,0 +1,235 @@
+package aoc.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content addressed on-disk cache of answers and intermediate results, off unless {@code -Daoc.cache=true}.
+ * Entries are keyed by a hash of the input and of the code the solver can run: every jar or class directory the day
+ * and {@link AbstractDay} are loaded from, so a change to the day or anything it calls, the collections, engines and
+ * helpers included, starts from a clean slate. Every key is one small binary file below {@code -Daoc.cache.dir}
+ * ({@code ~/.cache/aoc} by default).
+ */
+public final class AnswerCache {
+    private static final int MAGIC = 0xA0C2020;
+    private static final String ANSWER = "answer";
+    private static final String INTERMEDIATE = "intermediate:";
+    // hashing a jar or class directory is done once per JVM
+    private static final Map<String, byte[]> CODE_HASHES = new ConcurrentHashMap<>();
+
+    /**
+     * Binary format of an intermediate result.
+     */
+    public interface Codec<T> {
+        void write(T value, DataOutput out) throws IOException;
+
+        T read(DataInput in) throws IOException;
+    }
+
+    public static final Codec<int[][]> INT_GRID = new Codec<int[][]>() {
+        @Override
+        public void write(int[][] value, DataOutput out) throws IOException {
+            out.writeInt(value.length);
+            for (int[] row : value) {
+                out.writeInt(row.length);
+                for (int v : row) {
+                    out.writeInt(v);
+                }
+            }
+        }
+
+        @Override
+        public int[][] read(DataInput in) throws IOException {
+            int[][] value = new int[in.readInt()][];
+            for (int i = 0; i < value.length; i++) {
+                value[i] = new int[in.readInt()];
+                for (int j = 0; j < value[i].length; j++) {
+                    value[i][j] = in.readInt();
+                }
+            }
+            return value;
+        }
+    };
+
+    private final Path file;
+    private Map<String, byte[]> entries;
+
+    private AnswerCache(Path file) {
+        this.file = file;
+    }
+
+    public static boolean enabled() {
+        return Boolean.getBoolean("aoc.cache");
+    }
+
+    public static AnswerCache forDay(AbstractDay day, List<String> input) {
+        MessageDigest digest = sha256();
+        Set<String> locations = new TreeSet<>(Arrays.asList(location(day.getClass()), location(AbstractDay.class)));
+        for (String location : locations) {
+            digest.update(location.getBytes(StandardCharsets.UTF_8));
+            digest.update(CODE_HASHES.computeIfAbsent(location, AnswerCache::hashCode));
+        }
+        digest.update(day.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        for (String line : input) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        StringBuilder key = new StringBuilder(day.getClass().getSimpleName().toLowerCase()).append('-');
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        Path dir = Paths.get(System.getProperty("aoc.cache.dir", System.getProperty("user.home") + "/.cache/aoc"));
+        return new AnswerCache(dir.resolve(key + ".bin"));
+    }
+
+    public synchronized Optional<String> answer(int part) {
+        byte[] value = entries().get(ANSWER + part);
+        return value == null ? Optional.empty() : Optional.of(new String(value, StandardCharsets.UTF_8));
+    }
+
+    public synchronized void storeAnswer(int part, String answer) {
+        entries().put(ANSWER + part, answer.getBytes(StandardCharsets.UTF_8));
+        save();
+    }
+
+    /**
+     * The stored intermediate result called {@code name}, computing and storing it on a miss.
+     */
+    public synchronized <T> T intermediate(String name, Codec<T> codec, Supplier<T> compute) {
+        byte[] stored = entries().get(INTERMEDIATE + name);
+        try {
+            if (stored != null) {
+                return codec.read(new DataInputStream(new ByteArrayInputStream(stored)));
+            }
+            T value = compute.get();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            codec.write(value, new DataOutputStream(bytes));
+            entries().put(INTERMEDIATE + name, bytes.toByteArray());
+            save();
+            return value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, byte[]> entries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<>();
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                if (in.readInt() == MAGIC) {
+                    for (int n = in.readInt(); n > 0; n--) {
+                        String name = in.readUTF();
+                        byte[] value = new byte[in.readInt()];
+                        in.readFully(value);
+                        entries.put(name, value);
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // nothing cached yet
+            } catch (IOException e) {
+                // a damaged file is just a miss, it gets rewritten on the next store
+                entries.clear();
+            }
+        }
+        return entries;
+    }
+
+    // write next to the target and move it into place so readers never see half a file
+    private void save() {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tmp))) {
+                out.writeInt(MAGIC);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, byte[]> e : entries.entrySet()) {
+                    out.writeUTF(e.getKey());
+                    out.writeInt(e.getValue().length);
+                    out.write(e.getValue());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("could not write " + file + ": " + e);
+        }
+    }
+
+    private static String location(Class<?> c) {
+        CodeSource source = c.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) throw new IllegalStateException("can't tell where " + c + " was loaded from");
+        return source.getLocation().toString();
+    }
+
+    /**
+     * The jar, or every class file below the directory, in a stable order.
+     */
+    private static byte[] hashCode(String location) {
+        MessageDigest digest = sha256();
+        try {
+            Path path = Paths.get(new URI(location));
+            List<Path> files;
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> walk = Files.walk(path)) {
+                    files = walk.filter(f -> f.toString().endsWith(".class")).sorted().collect(Collectors.toList());
+                }
+            } else {
+                files = Collections.singletonList(path);
+            }
+            byte[] buffer = new byte[8192];
+            for (Path file : files) {
+                digest.update(path.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = Files.newInputStream(file)) {
+                    for (int n = in.read(buffer); n > 0; n = in.read(buffer)) {
+                        digest.update(buffer, 0, n);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            // not a file, as in a native image: the location is all there is to go by
+            digest.update(location.getBytes(StandardCharsets.UTF_8));
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
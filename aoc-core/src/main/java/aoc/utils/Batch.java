@@ -0,0 +1,125 @@
+package aoc.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Solves many inputs of a day in one JVM, spread over a pool of threads, and reports inputs per second.
+ * Every pool thread creates one solver and {@link AbstractDay#load loads} each further input into it, so the
+ * solver code stays loaded and compiled between inputs and days with large tables reuse them through
+ * {@link Scratch}. The pool, and with it every thread's solver and scratch buffers, lives for one batch.
+ *
+ * <pre>
+ * Batch --day 15 [--threads N] [--warmup N] [--answers] file-or-directory...
+ * </pre>
+ */
+public final class Batch {
+    private Batch() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int day = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int warmup = 1;
+        boolean answers = false;
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--day": day = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--warmup": warmup = Integer.parseInt(args[++i]); break;
+                case "--answers": answers = true; break;
+                default:
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("unknown argument: " + args[i]);
+                    files.addAll(inputFiles(Paths.get(args[i])));
+            }
+        }
+        if (day == 0) throw new IllegalArgumentException("--day is required");
+        if (files.isEmpty()) throw new IllegalArgumentException("no input files given");
+
+        List<String> names = new ArrayList<>();
+        List<List<String>> inputs = new ArrayList<>();
+        for (Path file : files) {
+            names.add(file.toString());
+            inputs.add(Files.readAllLines(file));
+        }
+        PrintStream out = System.out;
+        // solvers print debug output of their own
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            run(Days.forNumber(day), names, inputs, pool, warmup, answers, out);
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+            System.setOut(out);
+        }
+    }
+
+    private static void run(Class<? extends AbstractDay> day, List<String> names, List<List<String>> inputs,
+                            ForkJoinPool pool, int warmup, boolean answers, PrintStream out) throws InterruptedException {
+        ThreadLocal<AbstractDay> solvers = new ThreadLocal<>();
+        List<Callable<String[]>> tasks = new ArrayList<>();
+        for (int i = 0; i < warmup; i++) {
+            List<String> input = inputs.get(i % inputs.size());
+            tasks.add(() -> solve(day, solvers, input));
+        }
+        pool.invokeAll(tasks);
+        tasks.clear();
+        for (List<String> input : inputs) {
+            tasks.add(() -> solve(day, solvers, input));
+        }
+        long start = System.nanoTime();
+        List<Future<String[]>> results = pool.invokeAll(tasks);
+        long nanos = System.nanoTime() - start;
+
+        int failed = 0;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                String[] parts = results.get(i).get();
+                if (answers) {
+                    out.printf("%s %s: %s | %s%n", day.getSimpleName(), names.get(i), parts[0], parts[1]);
+                }
+            } catch (ExecutionException e) {
+                failed++;
+                out.printf("%s %s failed: %s%n", day.getSimpleName(), names.get(i), e.getCause());
+            }
+        }
+        out.printf("%s: %d inputs in %.1f ms on %d threads, %.1f inputs/s%s%n", day.getSimpleName(), inputs.size(),
+                nanos / 1e6, pool.getParallelism(), inputs.size() / (nanos / 1e9),
+                failed > 0 ? ", " + failed + " failed" : "");
+    }
+
+    private static String[] solve(Class<? extends AbstractDay> day, ThreadLocal<AbstractDay> solvers, List<String> input) {
+        AbstractDay solver = solvers.get();
+        if (solver == null) {
+            solver = Days.create(day, input);
+            solvers.set(solver);
+        } else {
+            solver.load(input);
+        }
+        return new String[]{solver.solve1(), solver.solve2()};
+    }
+
+    private static List<Path> inputFiles(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+}
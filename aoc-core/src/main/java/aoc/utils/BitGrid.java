@@ -0,0 +1,196 @@
+package aoc.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A grid of booleans packed 64 to a long. Rotations, flips and sub-grids are views sharing the same bits,
+ * they only change how (row, col) maps to a bit, so reorienting or cropping a grid copies nothing and writes
+ * through a view land in the original.
+ */
+public final class BitGrid {
+    private final long[] bits;
+    private final int rows;
+    private final int cols;
+    // the bit of (row, col) is origin + row * rowStep + col * colStep, the steps are +-1 or +-stride
+    private final long origin;
+    private final long rowStep;
+    private final long colStep;
+
+    public BitGrid(int rows, int cols) {
+        this(new long[(int) (((long) rows * cols + 63) >>> 6)], rows, cols, 0, cols, 1);
+    }
+
+    private BitGrid(long[] bits, int rows, int cols, long origin, long rowStep, long colStep) {
+        this.bits = bits;
+        this.rows = rows;
+        this.cols = cols;
+        this.origin = origin;
+        this.rowStep = rowStep;
+        this.colStep = colStep;
+    }
+
+    /**
+     * One row per line, a cell is set where the line has {@code on}. Lines must all be as long as the first.
+     */
+    public static BitGrid of(List<? extends CharSequence> lines, char on) {
+        BitGrid grid = new BitGrid(lines.size(), lines.isEmpty() ? 0 : lines.get(0).length());
+        for (int r = 0; r < grid.rows; r++) {
+            CharSequence line = lines.get(r);
+            if (line.length() != grid.cols) throw new IllegalArgumentException("line " + r + " is " + line.length() + " wide, not " + grid.cols);
+            for (int c = 0; c < grid.cols; c++) {
+                if (line.charAt(c) == on) {
+                    grid.set(r, c, true);
+                }
+            }
+        }
+        return grid;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public boolean get(int row, int col) {
+        long bit = bit(row, col);
+        return (bits[(int) (bit >>> 6)] & 1L << bit) != 0;
+    }
+
+    public void set(int row, int col, boolean value) {
+        long bit = bit(row, col);
+        if (value) {
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        } else {
+            bits[(int) (bit >>> 6)] &= ~(1L << bit);
+        }
+    }
+
+    private long bit(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) throw new IndexOutOfBoundsException("(" + row + ", " + col + ") outside " + rows + "x" + cols);
+        return origin + row * rowStep + col * colStep;
+    }
+
+    /**
+     * A row of at most 64 cells, column 0 in the lowest bit.
+     */
+    public long row(int row) {
+        if (cols > 64) throw new IllegalStateException(cols + " columns don't fit a long");
+        if (colStep == 1) {
+            return range(bit(row, 0), cols);
+        }
+        long value = 0;
+        for (int c = 0; c < cols; c++) {
+            if (get(row, c)) {
+                value |= 1L << c;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * A column of at most 64 cells, row 0 in the lowest bit.
+     */
+    public long col(int col) {
+        return transpose().row(col);
+    }
+
+    /**
+     * Number of set cells, a word at a time along whichever direction the bits are contiguous.
+     */
+    public int count() {
+        if (Math.abs(colStep) == 1) {
+            return count(rows, cols, rowStep, colStep);
+        }
+        return count(cols, rows, colStep, rowStep);
+    }
+
+    private int count(int lines, int length, long lineStep, long step) {
+        int count = 0;
+        for (int i = 0; i < lines; i++) {
+            long start = origin + i * lineStep + (step < 0 ? (length - 1) * step : 0);
+            for (int done = 0; done < length; done += 64) {
+                count += Long.bitCount(range(start + done, Math.min(64, length - done)));
+            }
+        }
+        return count;
+    }
+
+    // up to 64 bits starting at bit start
+    private long range(long start, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int word = (int) (start >>> 6);
+        int shift = (int) (start & 63);
+        long value = bits[word] >>> shift;
+        if (shift + length > 64) {
+            value |= bits[word + 1] << (64 - shift);
+        }
+        return length == 64 ? value : value & ((1L << length) - 1);
+    }
+
+    /**
+     * This grid turned a quarter counter clockwise: the last column becomes the first row.
+     */
+    public BitGrid rotate() {
+        return new BitGrid(bits, cols, rows, origin + (cols - 1) * colStep, -colStep, rowStep);
+    }
+
+    /**
+     * Mirrored left to right.
+     */
+    public BitGrid flip() {
+        return new BitGrid(bits, rows, cols, origin + (cols - 1) * colStep, rowStep, -colStep);
+    }
+
+    public BitGrid transpose() {
+        return new BitGrid(bits, cols, rows, origin, colStep, rowStep);
+    }
+
+    public BitGrid sub(int row, int col, int height, int width) {
+        if (row < 0 || col < 0 || height < 0 || width < 0 || row + height > rows || col + width > cols) {
+            throw new IndexOutOfBoundsException(height + "x" + width + " at (" + row + ", " + col + ") outside " + rows + "x" + cols);
+        }
+        return new BitGrid(bits, height, width, origin + row * rowStep + col * colStep, rowStep, colStep);
+    }
+
+    /**
+     * The four rotations of this grid followed by the four rotations of its mirror image.
+     */
+    public List<BitGrid> orientations() {
+        List<BitGrid> orientations = new ArrayList<>(8);
+        BitGrid grid = this;
+        for (int i = 0; i < 8; i++) {
+            orientations.add(grid);
+            grid = i == 3 ? flip() : grid.rotate();
+        }
+        return orientations;
+    }
+
+    /**
+     * Copies {@code source} into this grid with its top left corner at (row, col).
+     */
+    public void paste(BitGrid source, int row, int col) {
+        for (int r = 0; r < source.rows; r++) {
+            for (int c = 0; c < source.cols; c++) {
+                set(row + r, col + c, source.get(r, c));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(rows * (cols + 1));
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                sb.append(get(r, c) ? '#' : '.');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package aoc.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds and instantiates the {@link AbstractDay} solvers on the classpath.
+ * Only classes named {@code DayN} count, which leaves out the {@code aoc.Day} template.
+ */
+public final class Days {
+    private static final String ROOT = "aoc";
+    private static final Pattern DAY = Pattern.compile("Day(\\d+)");
+    // for when the classpath can't be listed, as in a native image
+    private static final String[] KNOWN = {
+            "aoc.week1.Day1", "aoc.week1.Day2", "aoc.week1.Day3", "aoc.week1.Day4", "aoc.week1.Day5",
+            "aoc.week1.Day6", "aoc.week1.Day7", "aoc.week2.Day8", "aoc.week2.Day9", "aoc.week2.Day10",
+            "aoc.week2.Day11", "aoc.week2.Day12", "aoc.week2.Day13", "aoc.week2.Day14", "aoc.week3.Day15",
+            "aoc.week3.Day16", "aoc.week3.Day17", "aoc.week3.Day18", "aoc.week3.Day19", "aoc.week3.Day20",
+            "aoc.week3.Day21", "aoc.week4.Day22", "aoc.Day23", "aoc.Day24", "aoc.Day25",
+    };
+
+    private Days() {
+    }
+
+    /**
+     * Every solver below the {@code aoc} package, ordered by day number.
+     * Falls back to the days this repo ships when the classpath can't be scanned.
+     */
+    public static List<Class<? extends AbstractDay>> discover() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        Set<String> names = new TreeSet<>();
+        try {
+            Enumeration<URL> roots = loader.getResources(ROOT);
+            while (roots.hasMoreElements()) {
+                URL url = roots.nextElement();
+                if (url.getProtocol().equals("jar")) {
+                    scanJar(url, names);
+                } else if (url.getProtocol().equals("file")) {
+                    scanDirectory(Paths.get(url.toURI()), names);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+        if (names.isEmpty()) {
+            names.addAll(Arrays.asList(KNOWN));
+        }
+        List<Class<? extends AbstractDay>> days = new ArrayList<>();
+        for (String name : names) {
+            try {
+                Class<?> c = Class.forName(name, false, loader);
+                if (AbstractDay.class.isAssignableFrom(c)) {
+                    days.add(c.asSubclass(AbstractDay.class));
+                }
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(name, e);
+            }
+        }
+        days.sort(Comparator.comparingInt(Days::number));
+        return days;
+    }
+
+    public static Class<? extends AbstractDay> forNumber(int day) {
+        return discover().stream()
+                .filter(c -> number(c) == day)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("no solver for day " + day));
+    }
+
+    public static int number(Class<?> day) {
+        Matcher m = DAY.matcher(day.getSimpleName());
+        if (!m.matches()) throw new IllegalArgumentException(day.getName() + " is not a day");
+        return Integer.parseInt(m.group(1));
+    }
+
+    /**
+     * Runs the (private) no argument constructor of a day, which loads its input.
+     */
+    public static AbstractDay create(Class<? extends AbstractDay> day) {
+        try {
+            Constructor<? extends AbstractDay> constructor = day.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(day.getName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(day.getName(), e);
+        }
+    }
+
+    /**
+     * Creates a day that solves {@code input} instead of its bundled resource.
+     */
+    public static AbstractDay create(Class<? extends AbstractDay> day, List<String> input) {
+        return AbstractDay.withInput(input, () -> create(day));
+    }
+
+    private static void scanDirectory(Path root, Set<String> names) throws IOException {
+        Path base = root.getParent();
+        try (Stream<Path> files = Files.walk(root)) {
+            names.addAll(files.map(p -> base.relativize(p).toString().replace('\\', '/'))
+                    .filter(Days::isDayClass)
+                    .map(Days::className)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private static void scanJar(URL url, Set<String> names) throws IOException {
+        JarURLConnection connection = (JarURLConnection) url.openConnection();
+        connection.setUseCaches(false);
+        try (JarFile jar = connection.getJarFile()) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String entry = entries.nextElement().getName();
+                if (entry.startsWith(ROOT + "/") && isDayClass(entry)) {
+                    names.add(className(entry));
+                }
+            }
+        }
+    }
+
+    private static boolean isDayClass(String path) {
+        if (!path.endsWith(".class")) {
+            return false;
+        }
+        String simpleName = path.substring(path.lastIndexOf('/') + 1, path.length() - ".class".length());
+        return DAY.matcher(simpleName).matches();
+    }
+
+    private static String className(String path) {
+        return path.substring(0, path.length() - ".class".length()).replace('/', '.');
+    }
+}
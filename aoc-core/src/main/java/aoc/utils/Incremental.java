@@ -0,0 +1,12 @@
+package aoc.utils;
+
+import java.util.List;
+
+/**
+ * A day whose input can grow. Appended lines update the state the day keeps between parts instead of
+ * parsing and solving everything again; afterwards both parts answer for the whole input, as if it had
+ * been read in one go.
+ */
+public interface Incremental {
+    void append(List<String> more);
+}
@@ -0,0 +1,16 @@
+package aoc.utils;
+
+/**
+ * How {@link AbstractDay} loads its input.
+ * The default can be switched for every day at once with {@code -Daoc.input.mode=mapped}.
+ */
+public enum InputMode {
+    /** read the whole input onto the heap as a {@code List<String>} */
+    LINES,
+    /** memory map the input, {@link AbstractDay#lines} decodes strings on demand */
+    MAPPED;
+
+    public static InputMode fromProperties() {
+        return valueOf(System.getProperty("aoc.input.mode", LINES.name()).toUpperCase());
+    }
+}
@@ -0,0 +1,81 @@
+package aoc.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Where a day reads its input from. See {@link InputSources} for the built in sources and how one is picked.
+ */
+public interface InputSource {
+
+    String name();
+
+    /**
+     * The decoded bytes of the input, already decompressed.
+     */
+    InputStream open() throws IOException;
+
+    /**
+     * The file behind this source if it can be memory mapped as is.
+     */
+    default Optional<Path> path() {
+        return Optional.empty();
+    }
+
+    /**
+     * False for sources like stdin that can only be read once.
+     */
+    default boolean repeatable() {
+        return true;
+    }
+
+    default BufferedReader reader() throws IOException {
+        return new BufferedReader(new InputStreamReader(open()));
+    }
+
+    /**
+     * Lines decoded one at a time while the stream is consumed. The reader is closed once the
+     * stream is exhausted or closed.
+     */
+    default Stream<String> lines() {
+        BufferedReader reader;
+        try {
+            reader = reader();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Runnable close = () -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<String>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                try {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        close.run();
+                        return false;
+                    }
+                    action.accept(line);
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }, false).onClose(close);
+    }
+}
@@ -0,0 +1,16 @@
+package aoc.utils;
+
+import java.util.Optional;
+
+/**
+ * Service provider for input sources the built in ones don't cover. Implementations are found with
+ * {@link java.util.ServiceLoader}, list them in {@code META-INF/services/aoc.utils.InputSourceProvider}.
+ */
+public interface InputSourceProvider {
+
+    /**
+     * @param spec the value of an {@code aoc.input} property
+     * @return the source, or empty if this provider doesn't handle {@code spec}
+     */
+    Optional<InputSource> resolve(String spec);
+}
@@ -0,0 +1,142 @@
+package aoc.utils;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Built in {@link InputSource}s and the lookup {@link AbstractDay} uses.
+ * A day reads its bundled classpath resource unless {@code -Daoc.input.dayN} (or {@code -Daoc.input}
+ * for every day) names something else:
+ * <ul>
+ *     <li>{@code -} reads stdin</li>
+ *     <li>{@code classpath:some/resource} reads another resource</li>
+ *     <li>anything an {@link InputSourceProvider} claims</li>
+ *     <li>anything else is a file path, {@code file:} prefix optional</li>
+ * </ul>
+ * Gzip compressed input is recognised by its magic number and decompressed while reading.
+ */
+public final class InputSources {
+
+    private InputSources() {
+    }
+
+    /**
+     * The source for a day whose bundled input is {@code resource}, honouring the {@code aoc.input} properties.
+     */
+    public static InputSource forResource(String resource) {
+        String day = resource.substring(resource.lastIndexOf('/') + 1);
+        String spec = System.getProperty("aoc.input." + day, System.getProperty("aoc.input"));
+        return spec == null ? classpath(resource) : resolve(spec);
+    }
+
+    public static InputSource resolve(String spec) {
+        if (spec.equals("-")) {
+            return stdin();
+        }
+        if (spec.startsWith("classpath:")) {
+            return classpath(spec.substring("classpath:".length()));
+        }
+        for (InputSourceProvider provider : ServiceLoader.load(InputSourceProvider.class)) {
+            Optional<InputSource> source = provider.resolve(spec);
+            if (source.isPresent()) {
+                return source.get();
+            }
+        }
+        return file(Paths.get(spec.startsWith("file:") ? spec.substring("file:".length()) : spec));
+    }
+
+    public static InputSource classpath(String resource) {
+        return new InputSource() {
+            @Override
+            public String name() {
+                return "classpath:" + resource;
+            }
+
+            @Override
+            public InputStream open() throws IOException {
+                InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource);
+                if (in == null) throw new IOException("no such resource: " + resource);
+                return decompress(in);
+            }
+
+            @Override
+            public Optional<Path> path() {
+                URL url = Thread.currentThread().getContextClassLoader().getResource(resource);
+                try {
+                    return url != null && url.getProtocol().equals("file") ? file(Paths.get(url.toURI())).path() : Optional.empty();
+                } catch (URISyntaxException e) {
+                    return Optional.empty();
+                }
+            }
+        };
+    }
+
+    public static InputSource file(Path path) {
+        return new InputSource() {
+            @Override
+            public String name() {
+                return path.toString();
+            }
+
+            @Override
+            public InputStream open() throws IOException {
+                return decompress(Files.newInputStream(path));
+            }
+
+            @Override
+            public Optional<Path> path() {
+                try (InputStream in = Files.newInputStream(path)) {
+                    return isGzip(in) ? Optional.empty() : Optional.of(path);
+                } catch (IOException e) {
+                    return Optional.empty();
+                }
+            }
+        };
+    }
+
+    public static InputSource stdin() {
+        return new InputSource() {
+            @Override
+            public String name() {
+                return "stdin";
+            }
+
+            @Override
+            public InputStream open() throws IOException {
+                // leave System.in open for whoever reads it next
+                return decompress(new FilterInputStream(System.in) {
+                    @Override
+                    public void close() {
+                    }
+                });
+            }
+
+            @Override
+            public boolean repeatable() {
+                return false;
+            }
+        };
+    }
+
+    private static InputStream decompress(InputStream raw) throws IOException {
+        InputStream in = new BufferedInputStream(raw, 1 << 16);
+        in.mark(2);
+        boolean gzip = isGzip(in);
+        in.reset();
+        return gzip ? new GZIPInputStream(in, 1 << 16) : in;
+    }
+
+    private static boolean isGzip(InputStream in) throws IOException {
+        return in.read() == 0x1f && in.read() == 0x8b;
+    }
+}
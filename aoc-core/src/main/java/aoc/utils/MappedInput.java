@@ -0,0 +1,295 @@
+package aoc.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Read only, memory mapped view of an input file.
+ * Lines are exposed as single byte {@link CharSequence}s that point straight into the mapping,
+ * so nothing is copied onto the heap until a caller asks for a {@link String}.
+ * Files larger than 2GB are mapped as several segments, each one cut on a line boundary.
+ */
+public final class MappedInput {
+    private static final int MAX_SEGMENT = Integer.MAX_VALUE - 8;
+
+    private final ByteBuffer[] segments;
+    private final long[] bases;
+    private final long size;
+    private List<String> list;
+
+    private MappedInput(ByteBuffer[] segments, long[] bases, long size) {
+        this.segments = segments;
+        this.bases = bases;
+        this.size = size;
+    }
+
+    public static MappedInput of(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<ByteBuffer> segments = new ArrayList<>();
+            List<Long> bases = new ArrayList<>();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(MAX_SEGMENT, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                if (position + length < size) {
+                    int end = (int) length;
+                    while (end > 0 && buffer.get(end - 1) != '\n') {
+                        end--;
+                    }
+                    if (end == 0) throw new IllegalStateException("line longer than " + MAX_SEGMENT + " bytes at " + position);
+                    length = end;
+                }
+                segments.add(slice(buffer, 0, (int) length));
+                bases.add(position);
+                position += length;
+            }
+            return new MappedInput(segments.toArray(new ByteBuffer[0]), bases.stream().mapToLong(l -> l).toArray(), size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the file behind {@code source}. Sources without one (jar resources, stdin, compressed files)
+     * are decoded into a temporary file first.
+     */
+    public static MappedInput of(InputSource source) {
+        Optional<Path> path = source.path();
+        if (path.isPresent()) {
+            return of(path.get());
+        }
+        try {
+            Path tmp = Files.createTempFile("aoc", ".input");
+            tmp.toFile().deleteOnExit();
+            try (InputStream in = source.open()) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return of(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static MappedInput ofResource(String resource) {
+        return of(InputSources.classpath(resource));
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Lazily splits the mapping into lines. Every element is a fresh zero-copy {@link Slice}.
+     */
+    public Stream<CharSequence> lines() {
+        Cursor cursor = cursor();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<CharSequence>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super CharSequence> action) {
+                if (!cursor.next()) {
+                    return false;
+                }
+                action.accept(cursor.slice());
+                return true;
+            }
+        }, false);
+    }
+
+    /**
+     * Random access {@code List<String>} view for code written against {@link AbstractDay#lines}.
+     * Only the line offsets are kept; strings are decoded on every {@code get}.
+     */
+    public List<String> asList() {
+        if (list == null) {
+            list = new LineList();
+        }
+        return list;
+    }
+
+    private int segmentOf(long offset) {
+        int i = Arrays.binarySearch(bases, offset);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Forward only cursor over the lines of the mapping. The cursor itself is the current line,
+     * it is only valid until the next call to {@link #next()}.
+     */
+    public final class Cursor implements CharSequence {
+        private int segment = 0;
+        private int position = 0;
+        private int start = -1;
+        private int end = -1;
+
+        public boolean next() {
+            while (segment < segments.length && position >= segments[segment].limit()) {
+                segment++;
+                position = 0;
+            }
+            if (segment >= segments.length) {
+                start = end = -1;
+                return false;
+            }
+            ByteBuffer buffer = segments[segment];
+            start = position;
+            int limit = buffer.limit();
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+            end = position;
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            position++;
+            return true;
+        }
+
+        /**
+         * Offset of the current line from the start of the file.
+         */
+        public long offset() {
+            return bases[segment] + start;
+        }
+
+        public byte byteAt(int index) {
+            return segments[segment].get(start + index);
+        }
+
+        /**
+         * The bytes of the current line, sharing the mapping.
+         */
+        public ByteBuffer bytes() {
+            return MappedInput.slice(segments[segment], start, end);
+        }
+
+        /**
+         * Detached view of the current line that stays valid after the cursor moves on.
+         */
+        public Slice slice() {
+            return new Slice(segments[segment], start, end);
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (byteAt(index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new Slice(segments[segment], start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return decode(segments[segment], start, end);
+        }
+    }
+
+    /**
+     * Immutable zero-copy view of a byte range of the mapping.
+     */
+    public static final class Slice implements CharSequence {
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+
+        private Slice(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new Slice(buffer, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return decode(buffer, start, end);
+        }
+    }
+
+    private class LineList extends AbstractList<String> {
+        private long[] starts = new long[1024];
+        private int[] lengths = new int[1024];
+        private int size;
+
+        LineList() {
+            Cursor cursor = cursor();
+            while (cursor.next()) {
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    lengths = Arrays.copyOf(lengths, size * 2);
+                }
+                starts[size] = cursor.offset();
+                lengths[size] = cursor.length();
+                size++;
+            }
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("" + index);
+            int segment = segmentOf(starts[index]);
+            int start = (int) (starts[index] - bases[segment]);
+            return decode(segments[segment], start, start + lengths[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        slice(buffer, start, end).get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int start, int end) {
+        ByteBuffer dup = buffer.duplicate();
+        dup.limit(end).position(start);
+        return dup.slice();
+    }
+}
@@ -0,0 +1,145 @@
+package aoc.utils;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+/**
+ * Wall time, thread cpu time, allocated bytes and gc activity of solving one part.
+ * Allocation and cpu time are measured for the calling thread only, the gc numbers are JVM wide.
+ * Values the JVM cannot provide are reported as -1. Answers taken from the {@link AnswerCache} are
+ * marked as cached and measure nothing.
+ */
+public final class PartMetrics {
+    public enum Format {
+        TEXT, JSON, OFF;
+
+        /**
+         * {@code -Daoc.metrics=text|json|off}, text by default.
+         */
+        public static Format fromProperties() {
+            return valueOf(System.getProperty("aoc.metrics", TEXT.name()).toUpperCase());
+        }
+    }
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public final String day;
+    public final int part;
+    public final String answer;
+    public final long start;
+    public final long wallNanos;
+    public final long cpuNanos;
+    public final long allocatedBytes;
+    public final long gcCount;
+    public final long gcMillis;
+    public final boolean cached;
+
+    private PartMetrics(String day, int part, String answer, long start, long wallNanos, long cpuNanos,
+                        long allocatedBytes, long gcCount, long gcMillis, boolean cached) {
+        this.day = day;
+        this.part = part;
+        this.answer = answer;
+        this.start = start;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.cached = cached;
+    }
+
+    public static PartMetrics measure(String day, int part, Supplier<String> solver) {
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        long allocated = allocatedBytes();
+        long cpu = cpuTime();
+        long start = System.nanoTime();
+        String answer = solver.get();
+        long wall = System.nanoTime() - start;
+        cpu = cpu < 0 ? -1 : cpuTime() - cpu;
+        allocated = allocated < 0 ? -1 : allocatedBytes() - allocated;
+        return new PartMetrics(day, part, answer, start, wall, cpu, allocated,
+                gcCount() - gcCount, gcMillis() - gcMillis, false);
+    }
+
+    public static PartMetrics cached(String day, int part, String answer) {
+        return new PartMetrics(day, part, answer, System.nanoTime(), 0, 0, 0, 0, 0, true);
+    }
+
+    public long end() {
+        return start + wallNanos;
+    }
+
+    public String toText() {
+        if (cached) {
+            return String.format("part %d: cached answer, not solved", part);
+        }
+        return String.format("part %d: wall %.3f ms, cpu %s, alloc %s, gc %d (%d ms)", part, wallNanos / 1e6,
+                cpuNanos < 0 ? "n/a" : String.format("%.3f ms", cpuNanos / 1e6),
+                allocatedBytes < 0 ? "n/a" : String.format("%.1f MB", allocatedBytes / 1e6),
+                gcCount, gcMillis);
+    }
+
+    public String toJson() {
+        return "{\"day\":\"" + day + "\",\"part\":" + part + ",\"answer\":\"" + escape(answer) + "\""
+                + ",\"wallNanos\":" + wallNanos + ",\"cpuNanos\":" + cpuNanos + ",\"allocatedBytes\":" + allocatedBytes
+                + ",\"gcCount\":" + gcCount + ",\"gcMillis\":" + gcMillis + ",\"cached\":" + cached + "}";
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : String.valueOf(s).toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.toString();
+    }
+
+    static long cpuTime() {
+        try {
+            return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            try {
+                return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()
+                        ? threads.getThreadAllocatedBytes(Thread.currentThread().getId())
+                        : -1;
+            } catch (UnsupportedOperationException e) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(c -> c > 0)
+                .sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(c -> c > 0)
+                .sum();
+    }
+}
@@ -0,0 +1,130 @@
+package aoc.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Progress of a long loop, so a slow run can be told from a hung one.
+ * Hot loops call {@link #at} every iteration; it only looks at the clock every {@code 2^16} iterations
+ * and costs nothing at all unless the JVM was started with {@code -Daoc.progress=true}, the flag is a
+ * constant the JIT folds away. While enabled, the rate, ETA and heap usage are logged to stderr every
+ * {@code -Daoc.progress.interval} milliseconds (1000 by default) and exposed over JMX through {@link ProgressMXBean}.
+ *
+ * <pre>
+ * try (Progress progress = Progress.start("Day15", target)) {
+ *     for (int i = 0; i &lt; target; i++) {
+ *         progress.at(i);
+ *         ...
+ * </pre>
+ */
+public final class Progress implements ProgressMXBean, AutoCloseable {
+    public static final boolean ENABLED = Boolean.getBoolean("aoc.progress");
+    private static final long SAMPLE_MASK = (1 << 16) - 1;
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(Long.getLong("aoc.progress.interval", 1000));
+
+    private final String name;
+    private final long total;
+    private final long start = System.nanoTime();
+    private ObjectName objectName;
+    private long lastLog = start;
+    private volatile long done;
+    private volatile long now = start;
+
+    private Progress(String name, long total) {
+        this.name = name;
+        this.total = total;
+    }
+
+    /**
+     * A progress of {@code total} iterations, registered with JMX when enabled.
+     */
+    public static Progress start(String name, long total) {
+        Progress progress = new Progress(name, total);
+        if (ENABLED) {
+            progress.register();
+        }
+        return progress;
+    }
+
+    public void at(long done) {
+        if (ENABLED && (done & SAMPLE_MASK) == 0) {
+            sample(done);
+        }
+    }
+
+    private void sample(long done) {
+        this.done = done;
+        this.now = System.nanoTime();
+        if (now - lastLog >= INTERVAL) {
+            lastLog = now;
+            System.err.println(this);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!ENABLED) {
+            return;
+        }
+        done = total;
+        now = System.nanoTime();
+        System.err.println(this);
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            // already gone
+        }
+    }
+
+    private void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            // the same day can run on several threads at once, the identity keeps the names apart
+            objectName = new ObjectName("aoc:type=Progress,name=" + ObjectName.quote(name + "@" + Integer.toHexString(System.identityHashCode(this))));
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getDone() {
+        return done;
+    }
+
+    @Override
+    public long getTotal() {
+        return total;
+    }
+
+    @Override
+    public double getPerSecond() {
+        long elapsed = now - start;
+        return elapsed == 0 ? 0 : done / (elapsed / 1e9);
+    }
+
+    @Override
+    public double getEtaSeconds() {
+        double rate = getPerSecond();
+        return rate == 0 ? Double.NaN : (total - done) / rate;
+    }
+
+    @Override
+    public long getHeapUsedBytes() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d / %d (%.0f%%), %.2f M/s, eta %.1f s, heap %.0f MB", name, done, total,
+                100.0 * done / total, getPerSecond() / 1e6, getEtaSeconds(), getHeapUsedBytes() / 1e6);
+    }
+}
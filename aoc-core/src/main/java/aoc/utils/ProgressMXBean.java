@@ -0,0 +1,18 @@
+package aoc.utils;
+
+/**
+ * JMX view of a running {@link Progress}, registered as {@code aoc:type=Progress,name=<name>}.
+ */
+public interface ProgressMXBean {
+    String getName();
+
+    long getDone();
+
+    long getTotal();
+
+    double getPerSecond();
+
+    double getEtaSeconds();
+
+    long getHeapUsedBytes();
+}
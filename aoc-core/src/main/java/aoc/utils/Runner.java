@@ -0,0 +1,156 @@
+package aoc.utils;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Runs every day in one JVM. Each part gets its own solver instance so both parts of all days
+ * can run at the same time, the batch takes as long as the slowest part.
+ *
+ * <pre>
+ * Runner [--threads N | --virtual] [--days 1,15,23] [--repeat N]
+ * </pre>
+ * With {@code --repeat} the whole batch runs N times and only the last, warmed up round is reported.
+ */
+public final class Runner {
+    static final class Result {
+        final Class<? extends AbstractDay> day;
+        final int part;
+        PartMetrics metrics;
+        Throwable error;
+
+        Result(Class<? extends AbstractDay> day, int part) {
+            this.day = day;
+            this.part = part;
+        }
+    }
+
+    private Runner() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean virtual = false;
+        int repeat = 1;
+        Set<Integer> selected = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--virtual": virtual = true; break;
+                case "--repeat": repeat = Integer.parseInt(args[++i]); break;
+                case "--days": selected = Arrays.stream(args[++i].split(",")).map(Integer::parseInt).collect(Collectors.toSet()); break;
+                default: throw new IllegalArgumentException("unknown argument: " + args[i]);
+            }
+        }
+        List<Class<? extends AbstractDay>> days = Days.discover();
+        if (selected != null) {
+            Set<Integer> finalSelected = selected;
+            days.removeIf(d -> !finalSelected.contains(Days.number(d)));
+        }
+
+        ExecutorService executor = virtual ? virtualThreadExecutor() : new ForkJoinPool(threads);
+        List<Result> results = null;
+        long wall = 0;
+        for (int round = 0; round < repeat; round++) {
+            long start = System.nanoTime();
+            results = run(executor, days);
+            wall = System.nanoTime() - start;
+        }
+        executor.shutdown();
+
+        print(results);
+        PrintStream summary = PartMetrics.Format.fromProperties() == PartMetrics.Format.JSON ? System.err : System.out;
+        summary.printf("%d days in %.1f ms on %s%n", days.size(), wall / 1e6,
+                virtual ? "virtual threads" : threads + " threads");
+    }
+
+    static List<Result> run(ExecutorService executor, List<Class<? extends AbstractDay>> days) throws InterruptedException {
+        List<Result> results = new ArrayList<>();
+        List<Callable<Result>> tasks = new ArrayList<>();
+        for (Class<? extends AbstractDay> day : days) {
+            for (int part = 1; part <= 2; part++) {
+                Result result = new Result(day, part);
+                results.add(result);
+                tasks.add(() -> solve(result));
+            }
+        }
+        for (Future<Result> f : executor.invokeAll(tasks)) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private static Result solve(Result result) {
+        try {
+            result.metrics = PartMetrics.measure(result.day.getSimpleName(), result.part, () -> {
+                AbstractDay solver = Days.create(result.day);
+                return result.part == 1 ? solver.solve1() : solver.solve2();
+            });
+        } catch (RuntimeException | Error e) {
+            result.error = e;
+        }
+        return result;
+    }
+
+    private static void print(List<Result> results) {
+        Map<Class<? extends AbstractDay>, List<Result>> byDay = results.stream()
+                .collect(Collectors.groupingBy(r -> r.day, LinkedHashMap::new, Collectors.toList()));
+        if (PartMetrics.Format.fromProperties() == PartMetrics.Format.JSON) {
+            results.stream().filter(r -> r.error == null).forEach(r -> System.out.println(r.metrics.toJson()));
+            results.stream().filter(r -> r.error != null).forEach(r -> System.err.println(r.day.getSimpleName() + " part " + r.part + ": " + r.error));
+            return;
+        }
+        System.out.printf("%-6s %12s %12s %12s  %-30s %s%n", "day", "wall ms", "cpu ms", "alloc MB", "part 1", "part 2");
+        byDay.forEach((day, parts) -> {
+            boolean failed = parts.stream().anyMatch(r -> r.error != null);
+            if (failed) {
+                System.out.printf("%-6d %12s %12s %12s  %-30s %s%n", Days.number(day), "", "", "", answer(parts.get(0)), answer(parts.get(1)));
+                return;
+            }
+            long wall = parts.stream().mapToLong(r -> r.metrics.end()).max().getAsLong()
+                    - parts.stream().mapToLong(r -> r.metrics.start).min().getAsLong();
+            System.out.printf("%-6d %12.1f %12s %12s  %-30s %s%n", Days.number(day), wall / 1e6,
+                    sum(parts, r -> r.metrics.cpuNanos), sum(parts, r -> r.metrics.allocatedBytes),
+                    answer(parts.get(0)), answer(parts.get(1)));
+        });
+    }
+
+    private static String sum(List<Result> parts, ToLongFunction<Result> value) {
+        if (parts.stream().anyMatch(r -> value.applyAsLong(r) < 0)) {
+            return "n/a";
+        }
+        return String.format("%.1f", parts.stream().mapToLong(value).sum() / 1e6);
+    }
+
+    private static String answer(Result r) {
+        return r.error == null ? r.metrics.answer : "ERROR " + r.error;
+    }
+
+    /**
+     * Virtual threads only exist from Java 21 on, look the factory up so the runner still works on older JVMs.
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("virtual threads are not available on this JVM, using a ForkJoinPool");
+            return new ForkJoinPool();
+        }
+    }
+}
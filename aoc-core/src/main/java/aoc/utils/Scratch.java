@@ -0,0 +1,38 @@
+package aoc.utils;
+
+import java.util.Arrays;
+
+/**
+ * Per thread work arrays for solvers with large tables, so solving input after input on the same thread
+ * doesn't allocate (and garbage collect) the table every time.
+ * A buffer belongs to the calling thread until its next call, don't keep it beyond the solve that asked for it.
+ * A thread keeps its buffer until it ends, so run batches on a pool of their own; buffers above
+ * {@link #MAX_RETAINED} ints are not kept at all.
+ */
+public final class Scratch {
+    /**
+     * Largest buffer kept between calls, 32M ints or 128 MB, enough for Day15's 30 million turns.
+     */
+    public static final int MAX_RETAINED = 1 << 25;
+
+    private static final ThreadLocal<int[]> INTS = new ThreadLocal<>();
+
+    private Scratch() {
+    }
+
+    /**
+     * An int array of at least {@code size} elements, the first {@code size} of them zero.
+     */
+    public static int[] ints(int size) {
+        int[] buffer = INTS.get();
+        if (buffer == null || buffer.length < size) {
+            buffer = new int[size];
+            if (size <= MAX_RETAINED) {
+                INTS.set(buffer);
+            }
+        } else {
+            Arrays.fill(buffer, 0, size, 0);
+        }
+        return buffer;
+    }
+}
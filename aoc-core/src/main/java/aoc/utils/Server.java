@@ -0,0 +1,179 @@
+package aoc.utils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps every day loaded (and, after a few requests, JIT compiled) in one JVM and answers requests
+ * over stdin/stdout, one per line:
+ * <pre>
+ * solve DAY PART BYTES      followed by BYTES bytes of input, 0 solves the bundled input
+ * days                      lists the available days
+ * quit
+ * </pre>
+ * Every request gets one response line, {@code ok DAY PART MICROS ANSWER} or {@code error MESSAGE}.
+ * Solvers and answers of recently seen inputs are kept, so asking again costs a hash and a lookup.
+ *
+ * <pre>
+ * Server [--warmup N] [--keep N]
+ * </pre>
+ */
+public final class Server {
+    private final Map<Integer, Class<? extends AbstractDay>> days = new TreeMap<>();
+    private final Map<String, Solved> recent;
+
+    private static final class Solved {
+        final AbstractDay solver;
+        final String[] answers = new String[2];
+
+        Solved(AbstractDay solver) {
+            this.solver = solver;
+        }
+    }
+
+    Server(int keep) {
+        for (Class<? extends AbstractDay> day : Days.discover()) {
+            try {
+                Class.forName(day.getName(), true, day.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+            days.put(Days.number(day), day);
+        }
+        recent = new LinkedHashMap<String, Solved>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Solved> eldest) {
+                return size() > keep;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws IOException {
+        int warmup = 0;
+        int keep = 64;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--warmup": warmup = Integer.parseInt(args[++i]); break;
+                case "--keep": keep = Integer.parseInt(args[++i]); break;
+                default: throw new IllegalArgumentException("unknown argument: " + args[i]);
+            }
+        }
+        // solvers print debug output of their own, keep it away from the protocol
+        PrintStream out = new PrintStream(System.out, true, "UTF-8");
+        System.setOut(System.err);
+
+        Server server = new Server(keep);
+        server.warmup(warmup);
+        server.serve(new DataInputStream(new BufferedInputStream(System.in)), out);
+    }
+
+    /**
+     * Solves every bundled input {@code rounds} times with fresh solvers so the hot loops get compiled.
+     */
+    void warmup(int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            for (Class<? extends AbstractDay> day : days.values()) {
+                AbstractDay solver = Days.create(day);
+                solver.solve1();
+                solver.solve2();
+            }
+        }
+    }
+
+    void serve(DataInputStream in, PrintStream out) throws IOException {
+        String request;
+        while ((request = readLine(in)) != null) {
+            String[] words = request.trim().split("\\s+");
+            try {
+                switch (words[0]) {
+                    case "solve":
+                        int day = Integer.parseInt(words[1]);
+                        int part = Integer.parseInt(words[2]);
+                        byte[] input = new byte[Integer.parseInt(words[3])];
+                        in.readFully(input);
+                        out.println(solve(day, part, input));
+                        break;
+                    case "days":
+                        out.println("ok " + days.keySet().stream().map(String::valueOf).collect(Collectors.joining(" ")));
+                        break;
+                    case "quit":
+                        out.println("ok bye");
+                        return;
+                    case "":
+                        break;
+                    default:
+                        out.println("error unknown request: " + request);
+                }
+            } catch (EOFException e) {
+                out.println("error input ended early");
+                return;
+            } catch (RuntimeException e) {
+                out.println("error " + e);
+            }
+        }
+    }
+
+    String solve(int day, int part, byte[] input) {
+        long start = System.nanoTime();
+        Class<? extends AbstractDay> solverClass = days.get(day);
+        if (solverClass == null) throw new IllegalArgumentException("no solver for day " + day);
+        if (part != 1 && part != 2) throw new IllegalArgumentException("no part " + part);
+        String key = day + ":" + hash(input);
+        Solved solved = recent.get(key);
+        if (solved == null) {
+            solved = new Solved(input.length == 0 ? Days.create(solverClass) : Days.create(solverClass, lines(input)));
+            recent.put(key, solved);
+        }
+        if (solved.answers[part - 1] == null) {
+            solved.answers[part - 1] = part == 1 ? solved.solver.solve1() : solved.solver.solve2();
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+        return "ok " + day + " " + part + " " + micros + " " + solved.answers[part - 1];
+    }
+
+    private static List<String> lines(byte[] input) {
+        String text = new String(input, StandardCharsets.UTF_8);
+        List<String> lines = Arrays.asList(text.split("\r?\n", -1));
+        // like BufferedReader.lines(), a final newline doesn't start another line
+        return text.endsWith("\n") ? lines.subList(0, lines.size() - 1) : lines;
+    }
+
+    private static String hash(byte[] input) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(input);
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            line.write(b);
+        }
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+        return new String(line.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
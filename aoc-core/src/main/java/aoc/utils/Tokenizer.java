@@ -0,0 +1,163 @@
+package aoc.utils;
+
+/**
+ * Reads numbers, words and literals off a line without regular expressions or intermediate strings.
+ * One tokenizer can be {@link #reset} for every line, only {@link #nextWord}, {@link #nextUntil}
+ * and {@link #rest} allocate, for the string they return.
+ *
+ * <pre>
+ * t.reset("1-3 a: abcde");
+ * int low = t.nextInt();
+ * t.expect('-');
+ * int high = t.nextInt();
+ * </pre>
+ */
+public final class Tokenizer {
+    private CharSequence s = "";
+    private int pos;
+
+    public Tokenizer() {
+    }
+
+    public Tokenizer(CharSequence s) {
+        reset(s);
+    }
+
+    public Tokenizer reset(CharSequence s) {
+        this.s = s;
+        this.pos = 0;
+        return this;
+    }
+
+    public boolean hasNext() {
+        return pos < s.length();
+    }
+
+    public int position() {
+        return pos;
+    }
+
+    public int remaining() {
+        return s.length() - pos;
+    }
+
+    public char peek() {
+        return peek(0);
+    }
+
+    /**
+     * The character {@code ahead} positions after the current one, without consuming anything.
+     */
+    public char peek(int ahead) {
+        if (pos + ahead >= s.length()) throw error("end of line");
+        return s.charAt(pos + ahead);
+    }
+
+    public char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    public int nextInt() {
+        long value = nextLong();
+        if (value != (int) value) throw error("int, got " + value);
+        return (int) value;
+    }
+
+    public long nextLong() {
+        boolean negative = pos < s.length() && s.charAt(pos) == '-';
+        int start = negative ? pos + 1 : pos;
+        int i = start;
+        long value = 0;
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            value = value * 10 + (s.charAt(i) - '0');
+            i++;
+        }
+        if (i == start) throw error("number");
+        pos = i;
+        return negative ? -value : value;
+    }
+
+    /**
+     * The run of letters at the current position.
+     */
+    public String nextWord() {
+        int start = pos;
+        while (pos < s.length() && Character.isLetter(s.charAt(pos))) {
+            pos++;
+        }
+        if (pos == start) throw error("word");
+        return s.subSequence(start, pos).toString();
+    }
+
+    /**
+     * Everything up to, not including, {@code literal}, or the rest of the line when it doesn't occur.
+     */
+    public String nextUntil(CharSequence literal) {
+        int start = pos;
+        while (pos < s.length() && !lookingAt(literal)) {
+            pos++;
+        }
+        return s.subSequence(start, pos).toString();
+    }
+
+    public String nextUntil(char c) {
+        int start = pos;
+        while (pos < s.length() && s.charAt(pos) != c) {
+            pos++;
+        }
+        return s.subSequence(start, pos).toString();
+    }
+
+    public String rest() {
+        int start = pos;
+        pos = s.length();
+        return s.subSequence(start, pos).toString();
+    }
+
+    public Tokenizer expect(char c) {
+        if (pos >= s.length() || s.charAt(pos) != c) throw error("'" + c + "'");
+        pos++;
+        return this;
+    }
+
+    public Tokenizer skip(CharSequence literal) {
+        if (!skipIf(literal)) throw error("'" + literal + "'");
+        return this;
+    }
+
+    /**
+     * Consumes {@code literal} if the line continues with it.
+     */
+    public boolean skipIf(CharSequence literal) {
+        if (!lookingAt(literal)) {
+            return false;
+        }
+        pos += literal.length();
+        return true;
+    }
+
+    public boolean lookingAt(CharSequence literal) {
+        if (pos + literal.length() > s.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (s.charAt(pos + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Tokenizer skipWhitespace() {
+        while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+            pos++;
+        }
+        return this;
+    }
+
+    private IllegalArgumentException error(String expected) {
+        return new IllegalArgumentException("expected " + expected + " at " + pos + " in: " + s);
+    }
+}
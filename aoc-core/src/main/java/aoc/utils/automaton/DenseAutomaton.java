@@ -0,0 +1,145 @@
+package aoc.utils.automaton;
+
+import aoc.utils.collections.IntList;
+
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * An automaton over a fixed set of cells, one byte of state each, double buffered.
+ * Neighbours are looked up in a table built once, so each generation is a flat loop over two arrays
+ * however irregular the neighbourhood is (line of sight, skipped cells, ...).
+ */
+public final class DenseAutomaton {
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int CHUNK = 1 << 12;
+    private static final int[][] DIRECTIONS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+    private final Rule rule;
+    private final int[] first;
+    private final int[] neighbours;
+    private byte[] current;
+    private byte[] next;
+    private boolean parallel;
+
+    /**
+     * The neighbours of cell {@code i} are {@code neighbours[first[i]]} up to, not including, {@code neighbours[first[i + 1]]}.
+     */
+    public DenseAutomaton(byte[] cells, int[] first, int[] neighbours, Rule rule) {
+        if (first.length != cells.length + 1) throw new IllegalArgumentException("need " + (cells.length + 1) + " neighbour offsets, got " + first.length);
+        this.current = cells.clone();
+        this.next = new byte[cells.length];
+        this.first = first;
+        this.neighbours = neighbours;
+        this.rule = rule;
+    }
+
+    /**
+     * A row major {@code width} wide grid where each cell sees, in all eight directions, the first cell that
+     * {@code counts} within {@code reach} steps. Reach 1 is the plain eight cell neighbourhood, a reach beyond the
+     * grid is line of sight. Cells that don't count get no neighbours at all.
+     */
+    public static DenseAutomaton grid(byte[] cells, int width, int reach, IntPredicate counts, Rule rule) {
+        int height = cells.length / width;
+        int[] first = new int[cells.length + 1];
+        IntList neighbours = new IntList(cells.length * 8);
+        for (int cell = 0; cell < cells.length; cell++) {
+            first[cell] = neighbours.size();
+            if (!counts.test(cell)) {
+                continue;
+            }
+            int row = cell / width;
+            int col = cell % width;
+            for (int[] d : DIRECTIONS) {
+                int r = row + d[0];
+                int c = col + d[1];
+                for (int step = 1; step <= reach && r >= 0 && r < height && c >= 0 && c < width; step++) {
+                    if (counts.test(r * width + c)) {
+                        neighbours.add(r * width + c);
+                        break;
+                    }
+                    r += d[0];
+                    c += d[1];
+                }
+            }
+        }
+        first[cells.length] = neighbours.size();
+        return new DenseAutomaton(cells, first, neighbours.toArray(), rule);
+    }
+
+    /**
+     * Splits large generations over the common fork join pool.
+     */
+    public DenseAutomaton parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * Advances one generation and tells whether any cell changed.
+     */
+    public boolean step() {
+        boolean changed;
+        if (parallel && current.length >= PARALLEL_THRESHOLD) {
+            int chunks = (current.length + CHUNK - 1) / CHUNK;
+            changed = IntStream.range(0, chunks).parallel()
+                    .map(c -> step(c * CHUNK, Math.min(current.length, (c + 1) * CHUNK)) ? 1 : 0)
+                    .sum() > 0;
+        } else {
+            changed = step(0, current.length);
+        }
+        byte[] tmp = current;
+        current = next;
+        next = tmp;
+        return changed;
+    }
+
+    private boolean step(int from, int to) {
+        byte[] current = this.current;
+        byte[] next = this.next;
+        boolean changed = false;
+        for (int cell = from; cell < to; cell++) {
+            int alive = 0;
+            for (int k = first[cell]; k < first[cell + 1]; k++) {
+                if (current[neighbours[k]] == Rule.ALIVE) {
+                    alive++;
+                }
+            }
+            byte state = (byte) rule.next(current[cell], alive);
+            next[cell] = state;
+            changed |= state != current[cell];
+        }
+        return changed;
+    }
+
+    public void run(int generations) {
+        for (int i = 0; i < generations; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Steps until a generation changes nothing and returns how many generations that took.
+     */
+    public int runUntilStable() {
+        int generations = 0;
+        while (step()) {
+            generations++;
+        }
+        return generations;
+    }
+
+    public int state(int cell) {
+        return current[cell];
+    }
+
+    public int count(int state) {
+        int count = 0;
+        for (byte s : current) {
+            if (s == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,19 @@
+package aoc.utils.automaton;
+
+/**
+ * The six neighbours on a hexagonal grid in axial coordinates: (i +- 1, j), (i, j +- 1), (i - 1, j + 1)
+ * and (i + 1, j - 1).
+ */
+public final class Hex implements Topology {
+    private static final long BIAS = 1L << 30;
+    private static final long[] OFFSETS = {1L << 32, -(1L << 32), 1, -1, -(1L << 32) + 1, (1L << 32) - 1};
+
+    @Override
+    public long[] offsets() {
+        return OFFSETS;
+    }
+
+    public long encode(int i, int j) {
+        return (i + BIAS) << 32 | (j + BIAS);
+    }
+}
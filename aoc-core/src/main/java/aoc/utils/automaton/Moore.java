@@ -0,0 +1,49 @@
+package aoc.utils.automaton;
+
+import java.util.Arrays;
+
+/**
+ * The 3^n - 1 cells around a cell of an n-dimensional square grid, for up to four dimensions.
+ * Every coordinate gets 16 bits of the key, so they must stay within +-32767.
+ */
+public final class Moore implements Topology {
+    private static final int BITS = 16;
+    private static final int BIAS = 1 << (BITS - 1);
+
+    private final int dimensions;
+    private final long[] offsets;
+
+    public Moore(int dimensions) {
+        if (dimensions < 1 || dimensions > 4) throw new IllegalArgumentException("1 to 4 dimensions, not " + dimensions);
+        this.dimensions = dimensions;
+        int cells = 1;
+        for (int i = 0; i < dimensions; i++) {
+            cells *= 3;
+        }
+        offsets = new long[cells - 1];
+        int n = 0;
+        for (int c = 0; c < cells; c++) {
+            long offset = 0;
+            for (int d = 0, rest = c; d < dimensions; d++, rest /= 3) {
+                offset += (long) (rest % 3 - 1) << (BITS * d);
+            }
+            if (offset != 0) {
+                offsets[n++] = offset;
+            }
+        }
+    }
+
+    @Override
+    public long[] offsets() {
+        return offsets;
+    }
+
+    public long encode(int... coordinates) {
+        if (coordinates.length != dimensions) throw new IllegalArgumentException(Arrays.toString(coordinates) + " is not " + dimensions + "-dimensional");
+        long key = 0;
+        for (int d = 0; d < dimensions; d++) {
+            key |= (long) (coordinates[d] + BIAS) << (BITS * d);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,14 @@
+package aoc.utils.automaton;
+
+/**
+ * The next state of a cell from its current state and how many of its neighbours are {@link #ALIVE}.
+ * Sparse automatons only know {@link #DEAD} and {@link #ALIVE}, dense ones may use more states, for example
+ * for cells that never change.
+ */
+@FunctionalInterface
+public interface Rule {
+    int DEAD = 0;
+    int ALIVE = 1;
+
+    int next(int state, int aliveNeighbours);
+}
@@ -0,0 +1,82 @@
+package aoc.utils.automaton;
+
+import aoc.utils.collections.LongHashSet;
+
+import java.util.stream.IntStream;
+
+/**
+ * An unbounded automaton that only stores its {@link Rule#ALIVE} cells, for patterns that grow in every
+ * direction. Each generation looks at the live cells and their neighbours, nothing else.
+ */
+public final class SparseAutomaton {
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final long[] offsets;
+    private final Rule rule;
+    private LongHashSet alive;
+    private boolean parallel;
+
+    public SparseAutomaton(Topology topology, Rule rule, LongHashSet alive) {
+        this.offsets = topology.offsets();
+        this.rule = rule;
+        this.alive = alive;
+    }
+
+    /**
+     * Decides large generations on the common fork join pool.
+     */
+    public SparseAutomaton parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    public void step() {
+        LongHashSet candidates = new LongHashSet(alive.size() * (offsets.length + 1) / 2);
+        alive.forEach(cell -> {
+            candidates.add(cell);
+            for (long offset : offsets) {
+                candidates.add(cell + offset);
+            }
+        });
+        long[] cells = candidates.toArray();
+        // only reads the current generation, so the cells can be decided in any order on any thread
+        boolean[] lives = new boolean[cells.length];
+        IntStream range = IntStream.range(0, cells.length);
+        if (parallel && cells.length >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(i -> lives[i] = decide(cells[i]));
+
+        LongHashSet next = new LongHashSet(alive.size() * 2);
+        for (int i = 0; i < cells.length; i++) {
+            if (lives[i]) {
+                next.add(cells[i]);
+            }
+        }
+        alive = next;
+    }
+
+    private boolean decide(long cell) {
+        int neighbours = 0;
+        for (long offset : offsets) {
+            if (alive.contains(cell + offset)) {
+                neighbours++;
+            }
+        }
+        return rule.next(alive.contains(cell) ? Rule.ALIVE : Rule.DEAD, neighbours) == Rule.ALIVE;
+    }
+
+    public void run(int generations) {
+        for (int i = 0; i < generations; i++) {
+            step();
+        }
+    }
+
+    public int size() {
+        return alive.size();
+    }
+
+    public LongHashSet alive() {
+        return alive;
+    }
+}
@@ -0,0 +1,9 @@
+package aoc.utils.automaton;
+
+/**
+ * Neighbourhood of a sparse automaton. Cells are encoded into a long so that every neighbour is the cell
+ * plus one of the {@link #offsets()}, which spares the hot loop any decoding.
+ */
+public interface Topology {
+    long[] offsets();
+}
@@ -0,0 +1,23 @@
+package aoc.utils.collections;
+
+/**
+ * Shared sizing and hashing for the open addressing tables, capacities are always powers of two.
+ */
+final class Hashing {
+    static final float LOAD_FACTOR = 0.5f;
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private Hashing() {
+    }
+
+    static int capacityFor(int expected) {
+        long needed = Math.max(4, (long) Math.ceil(expected / LOAD_FACTOR));
+        if (needed > 1 << 30) throw new IllegalArgumentException("too many entries: " + expected);
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    static int slot(long key, int mask) {
+        long h = key * PHI;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,61 @@
+package aoc.utils.collections;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Growable int array.
+ */
+public final class IntList {
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException(index + " >= " + size);
+        return values[index];
+    }
+
+    public void set(int index, int value) {
+        if (index >= size) throw new IndexOutOfBoundsException(index + " >= " + size);
+        values[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+}
@@ -0,0 +1,150 @@
+package aoc.utils.collections;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open addressing set of longs with linear probing.
+ */
+public final class LongHashSet {
+    private static final long FREE = 0;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasFreeKey;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expected) {
+        allocate(Hashing.capacityFor(expected));
+    }
+
+    public boolean contains(long key) {
+        if (key == FREE) return hasFreeKey;
+        int i = Hashing.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the key was not in the set yet
+     */
+    public boolean add(long key) {
+        if (key == FREE) {
+            if (hasFreeKey) return false;
+            hasFreeKey = true;
+            size++;
+            return true;
+        }
+        int i = Hashing.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        if (++size > resizeAt) rehash(keys.length << 1);
+        return true;
+    }
+
+    /**
+     * @return true if the key was in the set
+     */
+    public boolean remove(long key) {
+        if (key == FREE) {
+            if (!hasFreeKey) return false;
+            hasFreeKey = false;
+            size--;
+            return true;
+        }
+        int i = Hashing.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the key if it is absent, removes it otherwise.
+     * @return true if the key is in the set afterwards
+     */
+    public boolean toggle(long key) {
+        if (remove(key)) return false;
+        add(key);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        hasFreeKey = false;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (hasFreeKey) action.accept(FREE);
+        for (long key : keys) {
+            if (key != FREE) action.accept(key);
+        }
+    }
+
+    public long[] toArray() {
+        long[] res = new long[size];
+        int n = 0;
+        if (hasFreeKey) res[n++] = FREE;
+        for (long key : keys) {
+            if (key != FREE) res[n++] = key;
+        }
+        return res;
+    }
+
+    private void shiftBack(int i) {
+        int gap = i;
+        int j = (i + 1) & mask;
+        while (keys[j] != FREE) {
+            int home = Hashing.slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                gap = j;
+            }
+            j = (j + 1) & mask;
+        }
+        keys[gap] = FREE;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * Hashing.LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        allocate(capacity);
+        for (long key : oldKeys) {
+            if (key != FREE) {
+                int i = Hashing.slot(key, mask);
+                while (keys[i] != FREE) i = (i + 1) & mask;
+                keys[i] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package aoc.utils.collections;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * Growable long array.
+ */
+public final class LongList {
+    private long[] values;
+    private int size;
+
+    public LongList() {
+        this(16);
+    }
+
+    public LongList(int capacity) {
+        values = new long[Math.max(1, capacity)];
+    }
+
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public long get(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException(index + " >= " + size);
+        return values[index];
+    }
+
+    public void set(int index, long value) {
+        if (index >= size) throw new IndexOutOfBoundsException(index + " >= " + size);
+        values[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+}
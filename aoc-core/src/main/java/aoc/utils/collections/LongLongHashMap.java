@@ -0,0 +1,141 @@
+package aoc.utils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing long to long map with linear probing. Absent keys read as the {@code missing} value given
+ * at construction, so pick one that can't be a real value.
+ */
+public final class LongLongHashMap {
+    private static final long FREE = 0;
+
+    private final long missing;
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasFreeKey;
+    private long freeValue;
+
+    public LongLongHashMap(int expected, long missing) {
+        this.missing = missing;
+        allocate(Hashing.capacityFor(expected));
+    }
+
+    public long get(long key) {
+        if (key == FREE) return hasFreeKey ? freeValue : missing;
+        int i = Hashing.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) return values[i];
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == FREE) return hasFreeKey;
+        int i = Hashing.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return the previous value, or {@code missing} if the key was absent
+     */
+    public long put(long key, long value) {
+        if (key == FREE) {
+            long previous = hasFreeKey ? freeValue : missing;
+            if (!hasFreeKey) size++;
+            hasFreeKey = true;
+            freeValue = value;
+            return previous;
+        }
+        int i = Hashing.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                long previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeAt) rehash(keys.length << 1);
+        return missing;
+    }
+
+    /**
+     * @return the removed value, or {@code missing} if the key was absent
+     */
+    public long remove(long key) {
+        if (key == FREE) {
+            if (!hasFreeKey) return missing;
+            hasFreeKey = false;
+            size--;
+            return freeValue;
+        }
+        int i = Hashing.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                long previous = values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        hasFreeKey = false;
+    }
+
+    // close the gap left at i so later probes still find displaced keys
+    private void shiftBack(int i) {
+        int gap = i;
+        int j = (i + 1) & mask;
+        while (keys[j] != FREE) {
+            int home = Hashing.slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+            j = (j + 1) & mask;
+        }
+        keys[gap] = FREE;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * Hashing.LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != FREE) {
+                int i = Hashing.slot(oldKeys[j], mask);
+                while (keys[i] != FREE) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package aoc.utils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size bitset packed 64 bits to a {@code long}, without the bounds growing of {@link java.util.BitSet}.
+ */
+public final class PackedBitSet {
+    private final long[] words;
+    private final int size;
+
+    public PackedBitSet(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    public boolean get(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void set(int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    public void set(int index, boolean value) {
+        if (value) {
+            set(index);
+        } else {
+            clear(index);
+        }
+    }
+
+    public void clear(int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * @return the new value of the bit
+     */
+    public boolean flip(int index) {
+        return ((words[index >>> 6] ^= 1L << index) & (1L << index)) != 0;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    public int cardinality() {
+        int res = 0;
+        for (long word : words) {
+            res += Long.bitCount(word);
+        }
+        return res;
+    }
+
+    /**
+     * @return the first set bit at or after {@code from}, or -1
+     */
+    public int nextSetBit(int from) {
+        if (from >= size) return -1;
+        int w = from >>> 6;
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int res = (w << 6) + Long.numberOfTrailingZeros(word);
+                return res < size ? res : -1;
+            }
+            if (++w == words.length) return -1;
+            word = words[w];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+}
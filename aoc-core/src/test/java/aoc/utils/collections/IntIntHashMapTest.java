@@ -0,0 +1,107 @@
+package aoc.utils.collections;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntIntHashMapTest {
+    private static final int MISSING = -1;
+
+    @Test
+    public void absentKeysReadAsMissing() {
+        IntIntHashMap map = new IntIntHashMap(4, MISSING);
+        assertEquals(MISSING, map.get(7));
+        assertEquals(MISSING, map.get(0));
+        assertFalse(map.containsKey(7));
+        assertEquals(MISSING, map.remove(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void putReturnsThePreviousValue() {
+        IntIntHashMap map = new IntIntHashMap(4, MISSING);
+        assertEquals(MISSING, map.put(7, 1));
+        assertEquals(1, map.put(7, 2));
+        assertEquals(2, map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void zeroIsAKeyLikeAnyOther() {
+        IntIntHashMap map = new IntIntHashMap(4, MISSING);
+        assertEquals(MISSING, map.put(0, 5));
+        assertTrue(map.containsKey(0));
+        assertEquals(5, map.get(0));
+        assertEquals(5, map.put(0, 6));
+        assertEquals(1, map.size());
+        assertEquals(6, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void negativeKeys() {
+        IntIntHashMap map = new IntIntHashMap(4, MISSING);
+        map.put(-3, 3);
+        map.put(Integer.MIN_VALUE, 4);
+        assertEquals(3, map.get(-3));
+        assertEquals(4, map.get(Integer.MIN_VALUE));
+        assertEquals(MISSING, map.get(3));
+    }
+
+    @Test
+    public void growsPastTheExpectedSize() {
+        IntIntHashMap map = new IntIntHashMap(2, MISSING);
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i * 31, i);
+        }
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, map.get(i * 31));
+        }
+    }
+
+    @Test
+    public void clearEmptiesTheMap() {
+        IntIntHashMap map = new IntIntHashMap(4, MISSING);
+        map.put(0, 1);
+        map.put(1, 2);
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+        map.put(1, 3);
+        assertEquals(3, map.get(1));
+    }
+
+    // few distinct keys, so removals keep punching holes into probe chains
+    @Test
+    public void agreesWithHashMap() {
+        Random random = new Random(2020);
+        IntIntHashMap map = new IntIntHashMap(16, MISSING);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(200) - 100;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals((int) expected.getOrDefault(key, MISSING), map.put(key, i));
+                    expected.put(key, i);
+                    break;
+                case 1:
+                    Integer removed = expected.remove(key);
+                    assertEquals(removed == null ? MISSING : removed, map.remove(key));
+                    break;
+                default:
+                    assertEquals((int) expected.getOrDefault(key, MISSING), map.get(key));
+                    assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+    }
+}
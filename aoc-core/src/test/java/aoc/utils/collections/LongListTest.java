@@ -0,0 +1,71 @@
+package aoc.utils.collections;
+
+import org.junit.Test;
+
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongListTest {
+
+    @Test
+    public void growsPastTheInitialCapacity() {
+        LongList list = new LongList(0);
+        assertTrue(list.isEmpty());
+        for (long i = 0; i < 1_000; i++) {
+            list.add(i << 32);
+        }
+        assertEquals(1_000, list.size());
+        assertFalse(list.isEmpty());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals((long) i << 32, list.get(i));
+        }
+    }
+
+    @Test
+    public void setReplacesInPlace() {
+        LongList list = new LongList();
+        list.add(1);
+        list.add(2);
+        list.set(1, Long.MIN_VALUE);
+        assertArrayEquals(new long[]{1, Long.MIN_VALUE}, list.toArray());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getPastTheSizeFails() {
+        LongList list = new LongList(16);
+        list.add(1);
+        list.get(1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void setPastTheSizeFails() {
+        LongList list = new LongList(16);
+        list.set(0, 1);
+    }
+
+    @Test
+    public void sortOnlyTouchesTheUsedPart() {
+        LongList list = new LongList(16);
+        list.add(3);
+        list.add(-1);
+        list.add(2);
+        list.sort();
+        assertArrayEquals(new long[]{-1, 2, 3}, list.toArray());
+        assertEquals("-1,2,3", list.stream().mapToObj(Long::toString).collect(Collectors.joining(",")));
+    }
+
+    @Test
+    public void clearKeepsTheListUsable() {
+        LongList list = new LongList();
+        list.add(5);
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.toArray().length);
+        list.add(6);
+        assertArrayEquals(new long[]{6}, list.toArray());
+    }
+}
@@ -0,0 +1,110 @@
+package aoc.utils.collections;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongLongHashMapTest {
+    private static final long MISSING = -1;
+
+    @Test
+    public void absentKeysReadAsMissing() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+        assertEquals(MISSING, map.get(7));
+        assertEquals(MISSING, map.get(0));
+        assertFalse(map.containsKey(7));
+        assertEquals(MISSING, map.remove(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void putReturnsThePreviousValue() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+        assertEquals(MISSING, map.put(7, 1));
+        assertEquals(1, map.put(7, 2));
+        assertEquals(2, map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void zeroIsAKeyLikeAnyOther() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+        assertEquals(MISSING, map.put(0, 5));
+        assertTrue(map.containsKey(0));
+        assertEquals(5, map.get(0));
+        assertEquals(5, map.put(0, 6));
+        assertEquals(1, map.size());
+        assertEquals(6, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void keysBeyondTheIntRange() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+        map.put(1L << 40, 1);
+        map.put(Long.MIN_VALUE, 2);
+        map.put(Long.MAX_VALUE, Long.MAX_VALUE);
+        assertEquals(1, map.get(1L << 40));
+        assertEquals(2, map.get(Long.MIN_VALUE));
+        assertEquals(Long.MAX_VALUE, map.get(Long.MAX_VALUE));
+        assertEquals(MISSING, map.get(0));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void growsPastTheExpectedSize() {
+        LongLongHashMap map = new LongLongHashMap(2, MISSING);
+        for (long i = 0; i < 10_000; i++) {
+            map.put(i << 32, i);
+        }
+        assertEquals(10_000, map.size());
+        for (long i = 0; i < 10_000; i++) {
+            assertEquals(i, map.get(i << 32));
+        }
+    }
+
+    @Test
+    public void clearEmptiesTheMap() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+        map.put(0, 1);
+        map.put(1, 2);
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+        map.put(1, 3);
+        assertEquals(3, map.get(1));
+    }
+
+    // few distinct keys, so removals keep punching holes into probe chains
+    @Test
+    public void agreesWithHashMap() {
+        Random random = new Random(2020);
+        LongLongHashMap map = new LongLongHashMap(16, MISSING);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long key = (random.nextInt(200) - 100) * (1L << 33);
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals((long) expected.getOrDefault(key, MISSING), map.put(key, i));
+                    expected.put(key, (long) i);
+                    break;
+                case 1:
+                    Long removed = expected.remove(key);
+                    assertEquals(removed == null ? MISSING : removed, map.remove(key));
+                    break;
+                default:
+                    assertEquals((long) expected.getOrDefault(key, MISSING), map.get(key));
+                    assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package aoc.gen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Input generators for the days whose inputs can be grown freely. Days with a fixed size input
+ * (Day5 has at most 1024 seats, Day15 is a single line) or a puzzle that only has a solution for
+ * carefully constructed inputs (Day9's numbers grow exponentially, Day16 and Day21 need a unique
+ * assignment, ...) have no generator.
+ *
+ * <pre>
+ * Generators day scale [seed] [file]
+ * </pre>
+ */
+public final class Generators {
+    private static final Map<Integer, InputGenerator> GENERATORS = new TreeMap<>();
+    private static final String DIRS = "e se sw w nw ne";
+
+    static {
+        GENERATORS.put(1, Generators::day1);
+        GENERATORS.put(2, Generators::day2);
+        GENERATORS.put(3, Generators::day3);
+        GENERATORS.put(6, Generators::day6);
+        GENERATORS.put(10, Generators::day10);
+        GENERATORS.put(12, Generators::day12);
+        GENERATORS.put(14, Generators::day14);
+        GENERATORS.put(17, Generators::day17);
+        GENERATORS.put(18, Generators::day18);
+        GENERATORS.put(24, Generators::day24);
+    }
+
+    private Generators() {
+    }
+
+    public static Set<Integer> days() {
+        return GENERATORS.keySet();
+    }
+
+    public static InputGenerator forDay(int day) {
+        InputGenerator generator = GENERATORS.get(day);
+        if (generator == null) throw new IllegalArgumentException("no generator for day " + day);
+        return generator;
+    }
+
+    private static long count(double base, double scale) {
+        return Math.max(1, Math.round(base * scale));
+    }
+
+    /**
+     * Entries above 2020 can never be part of a solution, so the answers only come from the five
+     * planted entries and every combination of the filler still has to be checked.
+     */
+    private static void day1(double scale, Random random, Consumer<String> out) {
+        int[] planted;
+        do {
+            int a = 1 + random.nextInt(2018);
+            int b = 1 + random.nextInt(2018);
+            int c = 1 + random.nextInt(2018);
+            planted = new int[]{a, 2020 - a, b, c, 2020 - b - c};
+        } while (!uniqueSums(planted));
+        long n = Math.max(planted.length, count(200, scale));
+        long[] positions = new long[planted.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = (long) (random.nextDouble() * n);
+            for (int j = 0; j < i; j++) {
+                if (positions[j] == positions[i]) i--;
+            }
+        }
+        Arrays.sort(positions);
+        int next = 0;
+        for (long i = 0; i < n; i++) {
+            if (next < positions.length && positions[next] == i) {
+                out.accept("" + planted[next++]);
+            } else {
+                out.accept("" + (2021 + random.nextInt(1_000_000)));
+            }
+        }
+    }
+
+    // exactly one pair (the first two) and one triple (the last three) sum to 2020
+    private static boolean uniqueSums(int[] v) {
+        if (v[4] <= 0) return false;
+        int pairs = 0;
+        int triples = 0;
+        for (int i = 0; i < v.length; i++) {
+            for (int j = i + 1; j < v.length; j++) {
+                if (v[i] + v[j] == 2020) pairs++;
+                for (int k = j + 1; k < v.length; k++) {
+                    if (v[i] + v[j] + v[k] == 2020) triples++;
+                }
+            }
+        }
+        return pairs == 1 && triples == 1;
+    }
+
+    private static void day2(double scale, Random random, Consumer<String> out) {
+        for (long i = count(1000, scale); i > 0; i--) {
+            int low = 1 + random.nextInt(10);
+            int high = low + 1 + random.nextInt(10);
+            char needle = (char) ('a' + random.nextInt(26));
+            StringBuilder password = new StringBuilder();
+            for (int j = high + random.nextInt(6); j > 0; j--) {
+                password.append(random.nextInt(3) == 0 ? needle : (char) ('a' + random.nextInt(26)));
+            }
+            out.accept(low + "-" + high + " " + needle + ": " + password);
+        }
+    }
+
+    private static void day3(double scale, Random random, Consumer<String> out) {
+        for (long i = count(323, scale); i > 0; i--) {
+            out.accept(row(random, 31, 0.25));
+        }
+    }
+
+    private static void day6(double scale, Random random, Consumer<String> out) {
+        for (long group = count(454, scale); group > 0; group--) {
+            for (int person = 1 + random.nextInt(5); person > 0; person--) {
+                StringBuilder answers = new StringBuilder();
+                for (char c = 'a'; c <= 'z'; c++) {
+                    if (random.nextInt(3) == 0) answers.append(c);
+                }
+                out.accept(answers.length() == 0 ? "a" : answers.toString());
+            }
+            if (group > 1) out.accept("");
+        }
+    }
+
+    private static void day10(double scale, Random random, Consumer<String> out) {
+        long joltage = 0;
+        for (long i = count(99, scale); i > 0; i--) {
+            joltage += random.nextInt(3) == 0 ? 3 : 1;
+            out.accept("" + joltage);
+        }
+    }
+
+    private static void day12(double scale, Random random, Consumer<String> out) {
+        String moves = "NSEWF";
+        for (long i = count(791, scale); i > 0; i--) {
+            if (random.nextInt(4) == 0) {
+                out.accept((random.nextBoolean() ? "L" : "R") + 90 * (1 + random.nextInt(3)));
+            } else {
+                out.accept(moves.charAt(random.nextInt(moves.length())) + "" + (1 + random.nextInt(100)));
+            }
+        }
+    }
+
+    private static void day14(double scale, Random random, Consumer<String> out) {
+        long n = count(577, scale);
+        for (long i = 0; i < n; ) {
+            char[] mask = new char[36];
+            for (int j = 0; j < mask.length; j++) {
+                mask[j] = random.nextBoolean() ? '0' : '1';
+            }
+            for (int x = 3 + random.nextInt(7); x > 0; x--) {
+                mask[random.nextInt(mask.length)] = 'X';
+            }
+            out.accept("mask = " + new String(mask));
+            i++;
+            for (int w = 1 + random.nextInt(6); w > 0 && i < n; w--, i++) {
+                out.accept("mem[" + random.nextInt(65536) + "] = " + random.nextInt(Integer.MAX_VALUE));
+            }
+        }
+    }
+
+    private static void day17(double scale, Random random, Consumer<String> out) {
+        int side = (int) Math.max(1, Math.round(8 * Math.sqrt(scale)));
+        for (int i = 0; i < side; i++) {
+            out.accept(row(random, side, 0.5));
+        }
+    }
+
+    private static void day18(double scale, Random random, Consumer<String> out) {
+        for (long i = count(380, scale); i > 0; i--) {
+            out.accept(expression(random, 2));
+        }
+    }
+
+    private static String expression(Random random, int depth) {
+        StringBuilder sb = new StringBuilder();
+        for (int terms = 2 + random.nextInt(4); terms > 0; terms--) {
+            if (depth > 0 && random.nextInt(4) == 0) {
+                sb.append('(').append(expression(random, depth - 1)).append(')');
+            } else {
+                sb.append(1 + random.nextInt(9));
+            }
+            if (terms > 1) sb.append(random.nextBoolean() ? " + " : " * ");
+        }
+        return sb.toString();
+    }
+
+    private static void day24(double scale, Random random, Consumer<String> out) {
+        String[] dirs = DIRS.split(" ");
+        for (long i = count(431, scale); i > 0; i--) {
+            StringBuilder path = new StringBuilder();
+            for (int steps = 15 + random.nextInt(11); steps > 0; steps--) {
+                path.append(dirs[random.nextInt(dirs.length)]);
+            }
+            out.accept(path.toString());
+        }
+    }
+
+    private static String row(Random random, int width, double density) {
+        char[] row = new char[width];
+        for (int j = 0; j < width; j++) {
+            row[j] = random.nextDouble() < density ? '#' : '.';
+        }
+        return new String(row);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int day = Integer.parseInt(args[0]);
+        double scale = Double.parseDouble(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 2020;
+        try (Writer writer = args.length > 3
+                ? Files.newBufferedWriter(Paths.get(args[3]))
+                : new BufferedWriter(new OutputStreamWriter(System.out))) {
+            forDay(day).generate(scale, new Random(seed), line -> {
+                try {
+                    writer.write(line);
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package aoc.gen;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Synthesizes a valid puzzle input for one day.
+ */
+@FunctionalInterface
+public interface InputGenerator {
+
+    /**
+     * Writes an input about {@code scale} times the size of the bundled one, line by line.
+     * The same scale and seed always produce the same input.
+     */
+    void generate(double scale, Random random, Consumer<String> out);
+}
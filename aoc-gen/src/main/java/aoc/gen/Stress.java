@@ -0,0 +1,206 @@
+package aoc.gen;
+
+import aoc.utils.AbstractDay;
+import aoc.utils.Days;
+import aoc.utils.MappedInput;
+import aoc.utils.PartMetrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Solves generated inputs of growing size and plots solve time against input size on a log scale,
+ * together with the fitted exponent k of time ~ n^k.
+ * A size is skipped when extrapolating the previous sizes says it would take longer than the budget.
+ * <p>
+ * Each size is measured in a JVM of its own, which is killed when it runs over the budget, so a solver stuck in a
+ * loop can't slow down the sizes after it. There every run creates the day from the input and solves it, so the
+ * time includes parsing; the first run warms up the JIT and the best of up to {@value #RUNS} more is reported.
+ *
+ * <pre>
+ * Stress [--days 1,17] [--scales 1,10,100,1000] [--seed 2020] [--budget seconds]
+ * </pre>
+ */
+public final class Stress {
+    private static final int BAR_WIDTH = 50;
+    private static final int RUNS = 3;
+    // timed runs stop repeating once they took this long together
+    private static final long QUICK = TimeUnit.SECONDS.toNanos(1);
+
+    static final class Point {
+        final double scale;
+        final long lines;
+        final double millis;
+
+        Point(double scale, long lines, double millis) {
+            this.scale = scale;
+            this.lines = lines;
+            this.millis = millis;
+        }
+    }
+
+    private Stress() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("--measure")) {
+            measure(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Paths.get(args[3]));
+            return;
+        }
+        List<Integer> days = new ArrayList<>(Generators.days());
+        double[] scales = {1, 10, 100, 1000};
+        long seed = 2020;
+        double budget = 10;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--days": days = Arrays.stream(args[++i].split(",")).map(Integer::parseInt).collect(Collectors.toList()); break;
+                case "--scales": scales = Arrays.stream(args[++i].split(",")).mapToDouble(Double::parseDouble).toArray(); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--budget": budget = Double.parseDouble(args[++i]); break;
+                default: throw new IllegalArgumentException("unknown argument: " + args[i]);
+            }
+        }
+        for (int day : days) {
+            for (int part = 1; part <= 2; part++) {
+                List<Point> points = new ArrayList<>();
+                System.out.printf("Day %d part %d%n", day, part);
+                for (double scale : scales) {
+                    // the warm up and at least one timed run
+                    double predicted = 2 * predict(points, scale);
+                    if (predicted > budget * 1000) {
+                        System.out.printf("  %10sx  skipped, would take about %.0f s%n", format(scale), predicted / 1000);
+                        continue;
+                    }
+                    Path file = generate(day, scale, seed);
+                    try {
+                        Process process = fork(day, part, file);
+                        String result;
+                        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                            if (!process.waitFor((long) (budget * 1000), TimeUnit.MILLISECONDS)) {
+                                process.destroyForcibly().waitFor();
+                                System.out.printf("  %10sx  over budget of %.0f s, giving up on larger inputs%n", format(scale), budget);
+                                break;
+                            }
+                            result = out.readLine();
+                        }
+                        if (process.exitValue() != 0 || result == null) {
+                            System.out.printf("  %10sx  failed with exit code %d%n", format(scale), process.exitValue());
+                            break;
+                        }
+                        String[] fields = result.split(" ");
+                        Point point = new Point(scale, Long.parseLong(fields[0]), Long.parseLong(fields[1]) / 1e6);
+                        points.add(point);
+                        System.out.printf("  %10sx %12d lines %12.2f ms  %s%n", format(scale), point.lines, point.millis, bar(point.millis));
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+                if (points.size() >= 2) {
+                    System.out.printf("  time ~ n^%.2f%n", exponent(points));
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs {@code --measure} in a JVM started like this one. Its stdout is the result line, stderr is passed through.
+     */
+    private static Process fork(int day, int part, Path file) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.addAll(Arrays.asList("-Daoc.metrics=off", "-cp", System.getProperty("java.class.path"), Stress.class.getName(),
+                "--measure", "" + day, "" + part, file.toString()));
+        return new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+    }
+
+    /**
+     * The forked side: prints the number of input lines and the best time in nanoseconds of creating the day and
+     * solving the part, after one run to warm up.
+     */
+    private static void measure(int day, int part, Path file) {
+        Class<? extends AbstractDay> solver = Days.forNumber(day);
+        List<String> input = MappedInput.of(file).asList();
+        long best = Long.MAX_VALUE;
+        long timed = 0;
+        for (int run = 0; run <= RUNS && (run < 2 || timed < QUICK); run++) {
+            PartMetrics metrics = PartMetrics.measure(solver.getSimpleName(), part, () -> {
+                AbstractDay instance = Days.create(solver, input);
+                return part == 1 ? instance.solve1() : instance.solve2();
+            });
+            if (run > 0) {
+                best = Math.min(best, metrics.wallNanos);
+                timed += metrics.wallNanos;
+            }
+        }
+        System.out.println(input.size() + " " + best);
+    }
+
+    private static Path generate(int day, double scale, long seed) throws IOException {
+        Path file = Files.createTempFile("aoc-day" + day + "-", ".input");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            Generators.forDay(day).generate(scale, new Random(seed), line -> {
+                try {
+                    writer.write(line);
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return file;
+    }
+
+    private static double predict(List<Point> points, double scale) {
+        if (points.isEmpty()) {
+            return 0;
+        }
+        Point last = points.get(points.size() - 1);
+        double k = points.size() >= 2 ? Math.max(1, exponent(points.subList(points.size() - 2, points.size()))) : 1;
+        return last.millis * Math.pow(scale / last.scale, k);
+    }
+
+    /**
+     * Least squares slope of log(time) over log(lines).
+     */
+    private static double exponent(List<Point> points) {
+        double n = points.size();
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (Point p : points) {
+            double x = Math.log(p.lines);
+            double y = Math.log(Math.max(p.millis, 1e-3));
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+        }
+        double d = n * sxx - sx * sx;
+        return d == 0 ? 0 : (n * sxy - sx * sy) / d;
+    }
+
+    // one character per tenth of a decade, starting at 0.1 ms
+    private static String bar(double millis) {
+        int width = (int) Math.round((Math.log10(Math.max(millis, 0.1)) + 1) * 10);
+        char[] bar = new char[Math.min(BAR_WIDTH, Math.max(1, width))];
+        Arrays.fill(bar, '#');
+        return new String(bar);
+    }
+
+    private static String format(double scale) {
+        return scale == Math.rint(scale) && scale < 1e7 ? "" + (long) scale : "" + scale;
+    }
+}
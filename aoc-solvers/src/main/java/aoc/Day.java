@@ -6,7 +6,7 @@ public class Day extends AbstractDay {
 
 
     private Day() {
-        super(Day.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day.class));
     }
 
     @Override
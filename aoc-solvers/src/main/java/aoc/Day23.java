@@ -1,10 +1,8 @@
 package aoc;
 
 import aoc.utils.AbstractDay;
-
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import aoc.utils.Progress;
+import aoc.utils.Scratch;
 
 /**
  * --- Day 23: Crab Cups ---
@@ -101,70 +99,81 @@ public class Day23 extends AbstractDay {
 
 
     private Day23() {
-        super(Day23.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day23.class));
+    }
+
+    private int[] cups() {
+        return lines.get(0).trim().chars().map(ch -> ch - '0').toArray();
+    }
+
+    /**
+     * next[cup] is the cup clockwise of it, cups are numbered 1 to {@code cups}.
+     */
+    private int[] link(int[] start, int cups) {
+        int[] next = Scratch.ints(cups + 1);
+        int previous = start[0];
+        for (int i = 1; i < cups; i++) {
+            int cup = i < start.length ? start[i] : i + 1;
+            next[previous] = cup;
+            previous = cup;
+        }
+        next[previous] = start[0];
+        return next;
     }
 
     @Override
     public String solve1() {
-        List<Integer> nums = new ArrayList<>("963275481".chars().mapToObj(ch -> ch - '0').collect(Collectors.toList()));
-        Map<Integer, Integer> next = new HashMap<>();
-        for (int i = 0; i < nums.size(); i++) {
-            next.put(nums.get(i), i < nums.size()-1 ? nums.get(i+1) : nums.get(0));
-        }
+        int[] start = cups();
+        int[] next = link(start, start.length);
         int iterations = 100;
-        int current = nums.get(0);
+        int current = start[0];
 
-        playGame(next, iterations, current);
+        playGame(next, start.length, iterations, current);
 
-        int x1 = next.get(1);
+        int x1 = next[1];
         StringBuffer res = new StringBuffer();
         while (x1 != 1) {
             res.append(x1);
-            x1 = next.get(x1);
+            x1 = next[x1];
         }
         return "1: " + res.toString();
     }
 
-    private void playGame(Map<Integer, Integer> next, int iterations, int current) {
-        int max = next.size();
-        for (int i = 0; i < iterations; ++i) {
-            int n = current-1;
-            if (n == 0) n = max;
-            List<Integer> move = new LinkedList<>();
-            int c = current;
-            for (int j = 0; j < 3; ++j) {
-                c = next.get(c);
-                move.add(c);
-            }
-            while (move.contains(n)) {
-                n--;
+    private void playGame(int[] next, int max, int iterations, int current) {
+        try (Progress progress = Progress.start("Day23 " + iterations + " moves", iterations)) {
+            for (int i = 0; i < iterations; ++i) {
+                progress.at(i);
+                int n = current-1;
                 if (n == 0) n = max;
-            }
-            int upNext = next.get(c);
-            next.put(current, upNext);
+                int move0 = next[current];
+                int move1 = next[move0];
+                int move2 = next[move1];
+                while (n == move0 || n == move1 || n == move2) {
+                    n--;
+                    if (n == 0) n = max;
+                }
+                int upNext = next[move2];
+                next[current] = upNext;
 
-            int afterN = next.get(n);
-            next.put(n, move.get(0));
-            next.put(move.get(2), afterN);
-            current = upNext;
+                int afterN = next[n];
+                next[n] = move0;
+                next[move2] = afterN;
+                current = upNext;
+            }
         }
     }
 
     @Override
     public String solve2() {
-        List<Integer> nums = new ArrayList<>("963275481".chars().mapToObj(ch -> ch - '0').collect(Collectors.toList()));
-        nums.addAll(IntStream.range(nums.stream().mapToInt(integer -> integer).max().getAsInt()+1, 1000001).mapToObj(i -> Integer.valueOf(i)).collect(Collectors.toList()));
-        Map<Integer, Integer> next = new HashMap<>();
-        for (int i = 0; i < nums.size(); i++) {
-            next.put(nums.get(i), i < nums.size()-1 ? nums.get(i+1) : nums.get(0));
-        }
+        int[] start = cups();
+        int[] next = link(start, 1000000);
         int iterations = 10000000;
-        int current = nums.get(0);
+        int current = start[0];
 
-        playGame(next, iterations, current);
+        playGame(next, 1000000, iterations, current);
 
-        int x1 = next.get(1);
-        long x2 = next.get(x1);
+        int x1 = next[1];
+        long x2 = next[x1];
         return "2: " + (x1*x2);
     }
 
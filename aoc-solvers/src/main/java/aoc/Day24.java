@@ -1,9 +1,13 @@
 package aoc;
 
 import aoc.utils.AbstractDay;
+import aoc.utils.Incremental;
+import aoc.utils.automaton.Hex;
+import aoc.utils.automaton.Rule;
+import aoc.utils.automaton.SparseAutomaton;
+import aoc.utils.collections.LongHashSet;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * --- Day 24: Lobby Layout ---
@@ -86,7 +90,7 @@ import java.util.stream.Collectors;
  *
  * Your puzzle answer was 3937.
  */
-public class Day24 extends AbstractDay {
+public class Day24 extends AbstractDay implements Incremental {
     static class Coordinate {
         int i, j;
 
@@ -151,22 +155,44 @@ public class Day24 extends AbstractDay {
     Set<Coordinate> unique;
 
     private Day24() {
-        super(Day24.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
-        tiles = lines.stream().filter(s -> s != null && !s.isEmpty())
+        super(resource(Day24.class));
+        tiles = new ArrayList<>();
+        unique = new HashSet<>();
+        flip(lines);
+    }
+
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
+        tiles.clear();
+        unique.clear();
+        flip(lines);
+    }
+
+    /**
+     * Every new path flips one more tile, the black tiles so far stay as they are.
+     */
+    @Override
+    public void append(List<String> more) {
+        appendLines(more);
+        flip(more);
+    }
+
+    private void flip(List<String> paths) {
+        paths.stream().filter(s -> s != null && !s.isEmpty())
                 .map(this::parseLine)
                 .map(dirs -> {
                     Coordinate res = new Coordinate(0,0);
                     dirs.forEach(res::update);
                     return res;
-                }).collect(Collectors.toList());
-        unique = new HashSet<>();
-        for (Coordinate tile : tiles) {
-            if (unique.contains(tile)) {
-                unique.remove(tile);
-            } else {
-                unique.add(tile);
-            }
-        }
+                }).forEach(tile -> {
+                    tiles.add(tile);
+                    if (unique.contains(tile)) {
+                        unique.remove(tile);
+                    } else {
+                        unique.add(tile);
+                    }
+                });
     }
 
     private List<Dir> parseLine(String s) {
@@ -186,41 +212,16 @@ public class Day24 extends AbstractDay {
 
     @Override
     public String solve2() {
-        Set<Coordinate> current = new HashSet<>(unique);
-        for (int i = 0; i < 100; ++i) {
-            Set<Coordinate> next = new HashSet<>();
-            for (Coordinate tile : current) {
-                int b = 0;
-                for (Dir d : Dir.values()) {
-                    Coordinate nTile = tile.move(d);
-                    if (current.contains(nTile)) {
-                        b++;
-                    } else {
-                        if (flipWhite(nTile, current)) {
-                            next.add(nTile);
-                        }
-                    }
-                }
-                if (b == 0 || b > 2) {
-                    // flip
-                } else {
-                    next.add(tile);
-                }
-            }
-            current = next;
-        }
-        return "2: " + current.size();
-    }
-
-    private boolean flipWhite(Coordinate tile, Set<Coordinate> current) {
-        int b = 0;
-        for (Dir d : Dir.values()) {
-            Coordinate nTile = tile.move(d);
-            if (current.contains(nTile)) {
-                b++;
-            }
+        Hex floor = new Hex();
+        LongHashSet black = new LongHashSet(unique.size());
+        for (Coordinate tile : unique) {
+            black.add(floor.encode(tile.i, tile.j));
         }
-        return b == 2;
+        // black tiles with zero or more than two black neighbours turn white, white ones with exactly two turn black
+        SparseAutomaton tiles = new SparseAutomaton(floor, (state, b) -> b == 2 || (state == Rule.ALIVE && b == 1) ? Rule.ALIVE : Rule.DEAD, black)
+                .parallel(true);
+        tiles.run(100);
+        return "2: " + tiles.size();
     }
 
     public static void main(String args[]) {
@@ -2,6 +2,8 @@ package aoc;
 
 import aoc.utils.AbstractDay;
 
+import java.util.List;
+
 /**
  * --- Day 25: Combo Breaker ---
  * You finally reach the check-in desk. Unfortunately, their registration systems are currently offline, and they cannot check you in. Noticing the look on your face, they quickly add that tech support is already on the way! They even created all the room keys this morning; you can take yours now and give them your room deposit once the registration system comes back online.
@@ -66,7 +68,14 @@ public class Day25 extends AbstractDay {
     int cardPrivKey;
 
     private Day25() {
-        super(Day25.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day25.class));
+        doorPrivKey = Integer.parseInt(lines.get(0));
+        cardPrivKey = Integer.parseInt(lines.get(1));
+    }
+
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
         doorPrivKey = Integer.parseInt(lines.get(0));
         cardPrivKey = Integer.parseInt(lines.get(1));
     }
@@ -4,7 +4,7 @@ import aoc.Day;
 import aoc.utils.AbstractDay;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * --- Day 1: Report Repair ---
@@ -44,44 +44,35 @@ import java.util.stream.Collectors;
  * Your puzzle answer was 59885340.
  */
 public class Day1 extends AbstractDay {
+    private static final Function<List<String>, int[]> EXPENSES = lines -> lines.stream()
+            .mapToInt(Integer::parseInt)
+            .toArray();
 
     private Day1() {
-        super(Day1.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day1.class));
     }
 
     public String solve1() {
-        List<Integer> expenses = lines.stream()
-                .map(Integer::parseInt)
-                .collect(Collectors.toList());
-        for (int i = 0; i < expenses.size(); ++i) {
-            int first = expenses.get(i);
-            for (int j = i+1; j < expenses.size(); ++j) {
-                int second = expenses.get(j);
-                if (first + second == 2020) {
-                    return (first * second) + "; First: " + first + "; Second: " + second;
-                }
-            }
+        int[] expenses = parsed(EXPENSES);
+        int[] found = new KSum(expenses).find(2, 2020);
+        if (found == null) {
+            return "";
         }
-        return "";
+        int first = expenses[found[0]];
+        int second = expenses[found[1]];
+        return (first * second) + "; First: " + first + "; Second: " + second;
     }
 
     public String solve2() {
-        List<Integer> expenses = lines.stream()
-                .map(Integer::parseInt)
-                .collect(Collectors.toList());
-        for (int i = 0; i < expenses.size(); ++i) {
-            int first = expenses.get(i);
-            for (int j = i+1; j < expenses.size(); ++j) {
-                int second = expenses.get(j);
-                for (int k = j+1; k < expenses.size(); ++k) {
-                    int third = expenses.get(k);
-                    if (first + second + third == 2020) {
-                        return (first * second * third) + "; First: " + first + "; Second: " + second + "; Third: " + third;
-                    }
-                }
-            }
+        int[] expenses = parsed(EXPENSES);
+        int[] found = new KSum(expenses).find(3, 2020);
+        if (found == null) {
+            return "";
         }
-        return "";
+        int first = expenses[found[0]];
+        int second = expenses[found[1]];
+        int third = expenses[found[2]];
+        return (first * second * third) + "; First: " + first + "; Second: " + second + "; Third: " + third;
     }
 
     public static void main (String args[]) {
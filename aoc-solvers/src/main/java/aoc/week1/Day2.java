@@ -1,10 +1,7 @@
 package aoc.week1;
 
-import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import aoc.utils.AbstractDay;
+import aoc.utils.Tokenizer;
 
 /**
  * --- Day 2: Password Philosophy ---
@@ -42,42 +39,46 @@ import aoc.utils.AbstractDay;
  * How many passwords are valid according to the new interpretation of the policies?
  */
 public class Day2 extends AbstractDay {
-    private Pattern pattern;
 
-    private Day2() {
-        super("aoc/week1/day2");
-        pattern = Pattern.compile("(\\d+)-(\\d+) ([a-z]): (.*)");
+    @FunctionalInterface
+    private interface Policy {
+        boolean test(int low, int high, char needle, Tokenizer password);
+    }
 
+    private Day2() {
+        super(resource(Day2.class));
     }
 
     @Override
     public String solve1() {
-        return processPasswords(m -> {
-            int lowerBound = Integer.parseInt(m.group(1));
-            int upperBound = Integer.parseInt(m.group(2));
-            String needle = m.group(3);
-            String haystack = m.group(4);
-            long count = haystack.chars().mapToObj(c -> "" + (char)c).filter(c -> c.equals(needle)).count();
+        return processPasswords((lowerBound, upperBound, needle, password) -> {
+            int count = 0;
+            while (password.hasNext()) {
+                if (password.next() == needle) {
+                    count++;
+                }
+            }
             return  (count <= upperBound && count >= lowerBound);
         });
     }
 
     @Override
     public String solve2() {
-        return processPasswords(m -> {
-            int lowerBound = Integer.parseInt(m.group(1)) - 1;
-            int upperBound = Integer.parseInt(m.group(2)) - 1;
-            char needle = m.group(3).charAt(0);
-            String haystack = m.group(4);
-            return haystack.charAt(lowerBound) == needle ^ haystack.charAt(upperBound) == needle;
-        });
+        return processPasswords((lowerBound, upperBound, needle, password) ->
+                password.peek(lowerBound - 1) == needle ^ password.peek(upperBound - 1) == needle);
     }
 
-    private String processPasswords(Function<Matcher, Boolean> pred) {
-        return "" + lines.stream().filter(s -> {
-            Matcher m = pattern.matcher(s);
-            m.matches();
-            return pred.apply(m);
+    private String processPasswords(Policy policy) {
+        Tokenizer t = new Tokenizer();
+        return "" + lineStream().filter(s -> {
+            t.reset(s);
+            int low = t.nextInt();
+            t.expect('-');
+            int high = t.nextInt();
+            t.expect(' ');
+            char needle = t.next();
+            t.skip(": ");
+            return policy.test(low, high, needle, t);
         }).count();
     }
 
@@ -1,11 +1,10 @@
 package aoc.week1;
 
 import aoc.utils.AbstractDay;
+import aoc.utils.BitGrid;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * --- Day 3: Toboggan Trajectory ---
@@ -79,27 +78,26 @@ import java.util.stream.Collectors;
  * Your puzzle answer was 1478615040.
  */
 public class Day3 extends AbstractDay {
-    List<List<Boolean>> map;
+    BitGrid map;
 
     protected Day3() {
-        super(Day3.class.getCanonicalName().toLowerCase().replaceAll("\\.", "/"));
-        map = lines.stream().map(s -> {
-            List<Boolean> b = new ArrayList<>(s.length());
-            for (int i = 0; i < s.length(); ++i) {
-                b.add(s.charAt(i) == '#');
-            }
-            return b;
-        }).collect(Collectors.toList());
+        super(resource(Day3.class));
+        map = BitGrid.of(lines, '#');
+    }
 
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
+        map = BitGrid.of(lines, '#');
     }
 
 
     private int solve(int right, int down) {
         int res = 0;
         int i =0, j =0;
-        int len = map.get(0).size();
-        while (i < map.size()) {
-            if (map.get(i).get(j)) {
+        int len = map.cols();
+        while (i < map.rows()) {
+            if (map.get(i, j)) {
                 res++;
             }
             j = (j + right) % len;
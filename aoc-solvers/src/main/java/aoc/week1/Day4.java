@@ -6,6 +6,7 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -120,9 +121,23 @@ import java.util.stream.Collectors;
 
  */
 public class Day4 extends AbstractDay {
+    private static final Function<List<String>, List<String>> PASSPORTS = lines -> {
+        String pp = "";
+        List<String> pps = new ArrayList<>();
+        for (String line : lines) {
+            if (line == null || line.equals("")) {
+                pps.add(pp);
+                pp = "";
+            } else {
+                pp += (" " + line);
+            }
+        }
+        pps.add(pp);
+        return Collections.unmodifiableList(pps);
+    };
 
     private Day4() {
-        super("aoc/week1/day4");
+        super(resource(Day4.class));
     }
 
     private boolean isValid(String pp) {
@@ -165,18 +180,7 @@ public class Day4 extends AbstractDay {
     }
 
     private String solve(Predicate<String> fn) {
-        String pp = "";
-        List<String> pps = new ArrayList<>();
-        for (String line : lines) {
-            if (line == null || line.equals("")) {
-                pps.add(pp);
-                pp = "";
-            } else {
-                pp += (" " + line);
-            }
-        }
-        pps.add(pp);
-        return "Solution: " + pps.stream().filter(s -> fn.test(s)).count();
+        return "Solution: " + parsed(PASSPORTS).stream().filter(s -> fn.test(s)).count();
     }
 
     @Override
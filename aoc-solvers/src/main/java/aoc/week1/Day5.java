@@ -2,12 +2,11 @@ package aoc.week1;
 
 import aoc.utils.AbstractDay;
 
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  * --- Day 5: Binary Boarding ---
@@ -49,31 +48,35 @@ import java.util.stream.Stream;
  * As a sanity check, look through your list of boarding passes. What is the highest seat ID on a boarding pass?
  */
 public class Day5 extends AbstractDay {
+    private static final Function<List<String>, int[]> SEATS = lines -> lines.stream()
+            .map(s->s.replaceAll("F|L", "0").replaceAll("B|R", "1"))
+            .mapToInt(s -> 8*Integer.parseInt(s.substring(0,7), 2) + Integer.parseInt(s.substring(7), 2))
+            .sorted()
+            .toArray();
+
     private Day5() {
-        super("aoc/week1/day5");
+        super(resource(Day5.class));
     }
 
 
 
     @Override
     public String solve1() {
-        List<Integer> sums = getSeatStream()
-                .collect(Collectors.toList());
-        return "" + sums.stream().max(Comparator.naturalOrder());
-    }
-
-    private Stream<Integer> getSeatStream() {
-        return lines.stream()
-                .map(s->s.replaceAll("F|L", "0").replaceAll("B|R", "1"))
-                .map(s -> 8*Integer.parseInt(s.substring(0,7), 2) + Integer.parseInt(s.substring(7), 2));
+        int[] seats = parsed(SEATS);
+        if (seats.length == 0) {
+            return "";
+        }
+        return "" + Optional.of(seats[seats.length-1]);
     }
 
     @Override
     public String solve2() {
-        Set<Integer> s = getSeatStream().collect(Collectors.toSet());
-        return ""+ IntStream.range(getSeatStream().min(Comparator.naturalOrder()).get(),
-                                    getSeatStream().max(Comparator.naturalOrder()).get())
-                .filter(i ->!s.contains(i)).max();
+        int[] seats = parsed(SEATS);
+        if (seats.length == 0) {
+            return "";
+        }
+        return ""+ IntStream.range(seats[0], seats[seats.length-1])
+                .filter(i -> Arrays.binarySearch(seats, i) < 0).max();
     }
 
     public static void main(String args[]) {
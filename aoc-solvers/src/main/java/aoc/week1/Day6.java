@@ -90,7 +90,7 @@ import java.util.stream.Collectors;
  */
 public class Day6 extends AbstractDay {
     private Day6() {
-        super(Day6.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day6.class));
     }
 
     @Override
@@ -1,10 +1,9 @@
 package aoc.week1;
 
 import aoc.utils.AbstractDay;
+import aoc.utils.Tokenizer;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * --- Day 7: Handy Haversacks ---
@@ -74,32 +73,42 @@ public class Day7 extends AbstractDay {
     private final String START = "shiny gold";
 
     private Day7() {
-        super(Day7.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day7.class));
         normal = new HashMap<>();
         inverted = new HashMap<>();
         parseRules();
     }
 
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
+        normal.clear();
+        inverted.clear();
+        parseRules();
+    }
+
     private void parseRules() {
-        Pattern p = Pattern.compile("([^0-9]+) bags contain (.*)");
-        Pattern p2 = Pattern.compile("([0-9]+) ([^0-9]+) bag");
-        lines.stream().forEach(s -> {
-            Matcher m = p.matcher(s);
-            if (m.matches()) {
-                String bagType  = m.group(1);
-                normal.putIfAbsent(bagType, new HashMap<>());
-                Matcher m2 = p2.matcher(m.group(2));
-                while (m2.find()) {
-                    int num = Integer.parseInt(m2.group(1));
-                    String innerBag = m2.group(2);
-                    inverted.putIfAbsent(innerBag, new HashMap<>());
-                    normal.get(bagType).put(innerBag, num);
-                    inverted.get(innerBag).put(bagType, num);
-                }
-            } else {
-                System.out.println("ERROR: " + s);
+        Tokenizer t = new Tokenizer();
+        for (String s : lines) {
+            t.reset(s);
+            String bagType = t.nextUntil(" bags contain ");
+            t.skip(" bags contain ");
+            normal.putIfAbsent(bagType, new HashMap<>());
+            if (t.skipIf("no other bags.")) {
+                continue;
             }
-        });
+            do {
+                int num = t.nextInt();
+                t.expect(' ');
+                String innerBag = t.nextUntil(" bag");
+                t.skip(" bag");
+                t.skipIf("s");
+                inverted.putIfAbsent(innerBag, new HashMap<>());
+                normal.get(bagType).put(innerBag, num);
+                inverted.get(innerBag).put(bagType, num);
+            } while (t.skipIf(", "));
+            t.expect('.');
+        }
     }
 
     @Override
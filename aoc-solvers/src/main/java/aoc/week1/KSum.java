@@ -0,0 +1,601 @@
+package aoc.week1;
+
+import aoc.utils.collections.IntIntHashMap;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Finds {@code k} entries of a report that add up to a target.
+ * Pairs are looked up in a {@link ValueIndex} when the values are dense enough ({@link ValueIndex#fits}), otherwise they take
+ * one pass with a hash of the entries seen so far. Larger {@code k} sort the entries once and fix all
+ * but the last two, which a two pointer sweep over the rest of the sorted entries finds in linear time, so
+ * {@code O(n^(k-1))} instead of the {@code O(n^k)} of trying every combination.
+ * Reports too small to be worth sorting are searched by {@link #bruteForce}.
+ * In {@link #parallel} mode the first entry of large reports is fixed by fork join tasks over the shared sorted entries.
+ * <p>
+ * {@link #pairs} and {@link #triples} enumerate every solution instead of the first. They work on the distinct values
+ * and how often each occurs, so a report full of duplicates costs no more than its distinct values, and stream each
+ * combination of values with its number of index combinations as the two pointer sweep finds it.
+ * {@link #forEachPair} and {@link #forEachTriple} run the same sweep into a callback without allocating per solution.
+ */
+public final class KSum {
+    private static final int MISSING = -1;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int CHUNK = 256;
+    private static final int BRUTE_FORCE_BELOW = 64;
+
+    private final int[] values;
+    // value in the high half, index in the low half, sorted on first use
+    private volatile long[] sorted;
+    private volatile Histogram histogram;
+    private volatile ValueIndex index;
+    private boolean parallel;
+
+    @FunctionalInterface
+    public interface PairConsumer {
+        /**
+         * Values {@code first <= second}, which {@code count} pairs of entries have.
+         * A count beyond the long range reads as {@link Long#MAX_VALUE}.
+         */
+        void accept(int first, int second, long count);
+    }
+
+    @FunctionalInterface
+    public interface TripleConsumer {
+        /**
+         * Values {@code first <= second <= third}, which {@code count} triples of entries have.
+         * A count beyond the long range reads as {@link Long#MAX_VALUE}.
+         */
+        void accept(int first, int second, int third, long count);
+    }
+
+    /**
+     * Values {@code first <= second}, which {@code count} pairs of entries have.
+     * A count beyond the long range reads as {@link Long#MAX_VALUE}.
+     */
+    public static final class Pair {
+        public final int first;
+        public final int second;
+        public final long count;
+
+        Pair(int first, int second, long count) {
+            this.first = first;
+            this.second = second;
+            this.count = count;
+        }
+
+        @Override
+        public String toString() {
+            return first + "+" + second + "x" + count;
+        }
+    }
+
+    /**
+     * Values {@code first <= second <= third}, which {@code count} triples of entries have.
+     * A count beyond the long range reads as {@link Long#MAX_VALUE}.
+     */
+    public static final class Triple {
+        public final int first;
+        public final int second;
+        public final int third;
+        public final long count;
+
+        Triple(int first, int second, int third, long count) {
+            this.first = first;
+            this.second = second;
+            this.third = third;
+            this.count = count;
+        }
+
+        @Override
+        public String toString() {
+            return first + "+" + second + "+" + third + "x" + count;
+        }
+    }
+
+    public KSum(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Splits the searches for three or more entries over the common fork join pool.
+     */
+    public KSum parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * Indices of {@code k} different entries summing to {@code target} in ascending order, or {@code null} if there are none.
+     */
+    public int[] find(int k, long target) {
+        if (k < 1) throw new IllegalArgumentException("k must be positive, got " + k);
+        if (k > values.length) {
+            return null;
+        }
+        if (k == 1) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == target) {
+                    return new int[]{i};
+                }
+            }
+            return null;
+        }
+        if (k > 2 && values.length < BRUTE_FORCE_BELOW) {
+            return bruteForce(k, target);
+        }
+        int[] found = k == 2 ? (ValueIndex.fits(values) ? indexed(target) : hashed(target)) : sweep(k, target);
+        if (found != null) {
+            Arrays.sort(found);
+        }
+        return found;
+    }
+
+    /**
+     * Like {@link #find}, but trying every combination in index order, so the first of several solutions is the
+     * one with the lowest indices. The last two entries come from {@link PairScans#fastest}.
+     */
+    public int[] bruteForce(int k, long target) {
+        if (k < 2) throw new IllegalArgumentException("k must be at least 2, got " + k);
+        int[] found = new int[k];
+        return first(PairScans.fastest(), 0, k, target, found) ? found : null;
+    }
+
+    private boolean first(PairScan scan, int from, int left, long target, int[] found) {
+        int slot = found.length - left;
+        if (left == 2) {
+            long pair = scan.find(values, from, target);
+            if (pair == PairScan.NONE) {
+                return false;
+            }
+            found[slot] = (int) (pair >>> 32);
+            found[slot + 1] = (int) pair;
+            return true;
+        }
+        for (int i = from; i <= values.length - left; i++) {
+            found[slot] = i;
+            if (first(scan, i + 1, left - 1, target - values[i], found)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The report's values as a {@link ValueIndex} for asking about many targets, built on first use.
+     *
+     * @throws IllegalArgumentException if the values span more than {@link ValueIndex#MAX_DOMAIN}
+     */
+    public ValueIndex index() {
+        ValueIndex index = this.index;
+        if (index == null) {
+            index = new ValueIndex(values);
+            this.index = index;
+        }
+        return index;
+    }
+
+    private int[] indexed(long target) {
+        int[] pair = index().pair(target);
+        if (pair == null) {
+            return null;
+        }
+        int first = indexOf(pair[0], -1);
+        return new int[]{first, indexOf(pair[1], first)};
+    }
+
+    private int indexOf(int value, int skip) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value && i != skip) {
+                return i;
+            }
+        }
+        throw new IllegalStateException(value + " is not in the report");
+    }
+
+    private int[] hashed(long target) {
+        IntIntHashMap seen = new IntIntHashMap(values.length, MISSING);
+        for (int j = 0; j < values.length; j++) {
+            long other = target - values[j];
+            if (other == (int) other) {
+                int i = seen.get((int) other);
+                if (i != MISSING) {
+                    return new int[]{i, j};
+                }
+            }
+            if (!seen.containsKey(values[j])) {
+                seen.put(values[j], j);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Every pair of values adding up to {@code target}, by ascending first value.
+     */
+    public Stream<Pair> pairs(long target) {
+        PairSweep sweep = new PairSweep(histogram(), target);
+        return stream(action -> {
+            if (!sweep.advance()) {
+                return false;
+            }
+            action.accept(new Pair(sweep.first, sweep.second, sweep.count));
+            return true;
+        });
+    }
+
+    /**
+     * {@link #pairs} into a callback.
+     */
+    public void forEachPair(long target, PairConsumer action) {
+        PairSweep sweep = new PairSweep(histogram(), target);
+        while (sweep.advance()) {
+            action.accept(sweep.first, sweep.second, sweep.count);
+        }
+    }
+
+    /**
+     * Every triple of values adding up to {@code target}, by ascending first and then second value.
+     */
+    public Stream<Triple> triples(long target) {
+        TripleSweep sweep = new TripleSweep(histogram(), target);
+        return stream(action -> {
+            if (!sweep.advance()) {
+                return false;
+            }
+            action.accept(new Triple(sweep.first, sweep.second, sweep.third, sweep.count));
+            return true;
+        });
+    }
+
+    /**
+     * {@link #triples} into a callback.
+     */
+    public void forEachTriple(long target, TripleConsumer action) {
+        TripleSweep sweep = new TripleSweep(histogram(), target);
+        while (sweep.advance()) {
+            action.accept(sweep.first, sweep.second, sweep.third, sweep.count);
+        }
+    }
+
+    // a sweep can't be split, the stream is sequential and pulls one solution at a time
+    private static <T> Stream<T> stream(TryAdvance<T> advance) {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                return advance.tryAdvance(action);
+            }
+        }, false);
+    }
+
+    @FunctionalInterface
+    private interface TryAdvance<T> {
+        boolean tryAdvance(Consumer<? super T> action);
+    }
+
+    /**
+     * The two pointer sweep for pairs, stopped after each solution; {@link #advance} moves on to the next one.
+     */
+    private static final class PairSweep {
+        private final int[] values;
+        private final long[] counts;
+        private final long target;
+        private int lo;
+        private int hi;
+        int first;
+        int second;
+        long count;
+
+        PairSweep(Histogram h, long target) {
+            this.values = h.values;
+            this.counts = h.counts;
+            this.target = target;
+            hi = values.length - 1;
+        }
+
+        boolean advance() {
+            while (lo <= hi) {
+                long sum = (long) values[lo] + values[hi];
+                if (sum < target) {
+                    lo++;
+                } else if (sum > target) {
+                    hi--;
+                } else {
+                    first = values[lo];
+                    second = values[hi];
+                    count = lo == hi ? choose2(counts[lo]) : times(counts[lo], counts[hi]);
+                    lo++;
+                    hi--;
+                    if (count > 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Fixes each first value in turn and sweeps the rest for the other two, stopped after each solution.
+     */
+    private static final class TripleSweep {
+        private final int[] values;
+        private final long[] counts;
+        private final long target;
+        private int i;
+        private int lo;
+        private int hi;
+        private boolean sweeping;
+        int first;
+        int second;
+        int third;
+        long count;
+
+        TripleSweep(Histogram h, long target) {
+            this.values = h.values;
+            this.counts = h.counts;
+            this.target = target;
+        }
+
+        boolean advance() {
+            while (true) {
+                if (!sweeping) {
+                    if (i >= values.length || (long) values[i] * 3 > target) {
+                        return false;
+                    }
+                    lo = i;
+                    hi = values.length - 1;
+                    sweeping = true;
+                }
+                long rest = target - values[i];
+                while (lo <= hi) {
+                    long sum = (long) values[lo] + values[hi];
+                    if (sum < rest) {
+                        lo++;
+                    } else if (sum > rest) {
+                        hi--;
+                    } else {
+                        if (i == hi) {
+                            count = choose3(counts[i]);
+                        } else if (i == lo) {
+                            count = times(choose2(counts[i]), counts[hi]);
+                        } else if (lo == hi) {
+                            count = times(counts[i], choose2(counts[lo]));
+                        } else {
+                            count = times(times(counts[i], counts[lo]), counts[hi]);
+                        }
+                        first = values[i];
+                        second = values[lo];
+                        third = values[hi];
+                        lo++;
+                        hi--;
+                        if (count > 0) {
+                            return true;
+                        }
+                    }
+                }
+                sweeping = false;
+                i++;
+            }
+        }
+    }
+
+    // a report holds fewer than 2^31 entries, so n(n-1)/2 fits once the even factor is halved first
+    private static long choose2(long n) {
+        if (n < 2) {
+            return 0;
+        }
+        return n % 2 == 0 ? n / 2 * (n - 1) : n * ((n - 1) / 2);
+    }
+
+    // one of n, n-1 and n-2 is even and one is a multiple of 3, dividing them first keeps the division exact
+    private static long choose3(long n) {
+        if (n < 3) {
+            return 0;
+        }
+        long a = n;
+        long b = n - 1;
+        long c = n - 2;
+        if (a % 2 == 0) {
+            a /= 2;
+        } else {
+            b /= 2;
+        }
+        if (a % 3 == 0) {
+            a /= 3;
+        } else if (b % 3 == 0) {
+            b /= 3;
+        } else {
+            c /= 3;
+        }
+        return times(times(a, b), c);
+    }
+
+    // counts are never negative, a product past the long range saturates instead of wrapping
+    private static long times(long a, long b) {
+        long product = a * b;
+        return Math.multiplyHigh(a, b) != 0 || product < 0 ? Long.MAX_VALUE : product;
+    }
+
+    private long[] sorted() {
+        long[] sorted = this.sorted;
+        if (sorted == null) {
+            sorted = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                sorted[i] = (long) values[i] << 32 | i;
+            }
+            Arrays.sort(sorted);
+            this.sorted = sorted;
+        }
+        return sorted;
+    }
+
+    private Histogram histogram() {
+        Histogram histogram = this.histogram;
+        if (histogram == null) {
+            long[] sorted = sorted();
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || value(sorted, i) != value(sorted, i - 1)) {
+                    distinct++;
+                }
+            }
+            histogram = new Histogram(distinct);
+            int d = -1;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || value(sorted, i) != value(sorted, i - 1)) {
+                    histogram.values[++d] = (int) value(sorted, i);
+                }
+                histogram.counts[d]++;
+            }
+            this.histogram = histogram;
+        }
+        return histogram;
+    }
+
+    private int[] sweep(int k, long target) {
+        long[] sorted = sorted();
+        if (parallel && sorted.length >= PARALLEL_THRESHOLD) {
+            Search search = new Search(sorted, k, target);
+            search.new Range(0, sorted.length - k + 1).invoke();
+            return search.found;
+        }
+        int[] found = new int[k];
+        return fix(sorted, 0, k, target, found, i -> false) ? found : null;
+    }
+
+    /**
+     * Picks {@code found[k - left]} and onwards from {@code sorted[from..]}, smallest value first,
+     * until {@code abandon} says the search at that position is no longer needed.
+     */
+    private static boolean fix(long[] sorted, int from, int left, long target, int[] found, IntPredicate abandon) {
+        int slot = found.length - left;
+        if (left == 2) {
+            int lo = from;
+            int hi = sorted.length - 1;
+            while (lo < hi) {
+                long sum = value(sorted, lo) + value(sorted, hi);
+                if (sum == target) {
+                    found[slot] = index(sorted, lo);
+                    found[slot + 1] = index(sorted, hi);
+                    return true;
+                }
+                if (sum < target) {
+                    lo++;
+                } else {
+                    hi--;
+                }
+            }
+            return false;
+        }
+        for (int i = from; i <= sorted.length - left && !abandon.test(i); i++) {
+            // the smallest entries still to come already overshoot, and equal values would repeat the same search
+            if (value(sorted, i) * left > target) {
+                return false;
+            }
+            if (i > from && value(sorted, i) == value(sorted, i - 1)) {
+                continue;
+            }
+            found[slot] = index(sorted, i);
+            if (fix(sorted, i + 1, left - 1, target - value(sorted, i), found, slot == 0 ? abandon : j -> false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long value(long[] sorted, int i) {
+        return sorted[i] >> 32;
+    }
+
+    private static int index(long[] sorted, int i) {
+        return (int) sorted[i];
+    }
+
+    // the distinct values of the report in ascending order and how often each occurs
+    private static final class Histogram {
+        private final int[] values;
+        private final long[] counts;
+
+        Histogram(int size) {
+            values = new int[size];
+            counts = new long[size];
+        }
+    }
+
+    /**
+     * A parallel sweep. Tasks fix the first entry over disjoint ranges of the sorted entries; the lowest position
+     * with a match so far is shared, positions past it are abandoned, so the answer is the one a sequential
+     * sweep finds and the other tasks stop as soon as they can't beat it.
+     */
+    private static final class Search {
+        private final long[] sorted;
+        private final int k;
+        private final long target;
+        private final AtomicInteger best = new AtomicInteger(Integer.MAX_VALUE);
+        private int[] found;
+
+        Search(long[] sorted, int k, long target) {
+            this.sorted = sorted;
+            this.k = k;
+            this.target = target;
+        }
+
+        private synchronized void offer(int position, int[] match) {
+            if (position <= best.get()) {
+                best.set(position);
+                found = match;
+            }
+        }
+
+        private final class Range extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final int from;
+            private final int to;
+
+            Range(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (from > best.get()) {
+                    return;
+                }
+                if (to - from > CHUNK) {
+                    int mid = (from + to) >>> 1;
+                    invokeAll(new Range(from, mid), new Range(mid, to));
+                    return;
+                }
+                // a range starting mid run of equal values searches the first of them once more, which is harmless
+                int[] match = new int[k];
+                long[] window = sorted;
+                for (int i = from; i < to && i <= best.get(); i++) {
+                    if (value(window, i) * k > target) {
+                        return;
+                    }
+                    if (i > from && value(window, i) == value(window, i - 1)) {
+                        continue;
+                    }
+                    match[0] = index(window, i);
+                    int position = i;
+                    if (fix(window, i + 1, k - 1, target - value(window, i), match, j -> position > best.get())) {
+                        offer(i, match);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package aoc.week1;
+
+/**
+ * The innermost loop of a brute force k-sum: the first two entries from {@code from} on, in index order,
+ * that add up to {@code target}.
+ */
+public interface PairScan {
+    long NONE = -1;
+
+    /**
+     * @return the indices {@code i < j} packed as {@code (long) i << 32 | j}, or {@link #NONE}
+     */
+    long find(int[] values, int from, long target);
+}
@@ -0,0 +1,46 @@
+package aoc.week1;
+
+/**
+ * The {@link PairScan} implementations. The Vector API one lives in the {@code vector} source set, which is only
+ * compiled on JDK 16+, and only links when the JVM runs with {@code --add-modules jdk.incubator.vector}; it is
+ * loaded by name so everything else runs, scalar, on any JDK.
+ */
+public final class PairScans {
+    public static final PairScan SCALAR = (values, from, target) -> {
+        for (int i = from; i < values.length - 1; i++) {
+            long rest = target - values[i];
+            for (int j = i + 1; j < values.length; j++) {
+                if (values[j] == rest) {
+                    return (long) i << 32 | j;
+                }
+            }
+        }
+        return PairScan.NONE;
+    };
+    private static final PairScan VECTOR = load("aoc.week1.VectorPairScan");
+
+    private PairScans() {
+    }
+
+    /**
+     * The Vector API scan, or {@code null} when it wasn't compiled in or the incubator module isn't there.
+     */
+    public static PairScan vector() {
+        return VECTOR;
+    }
+
+    public static PairScan fastest() {
+        return VECTOR != null ? VECTOR : SCALAR;
+    }
+
+    private static PairScan load(String name) {
+        try {
+            PairScan scan = Class.forName(name).asSubclass(PairScan.class).getConstructor().newInstance();
+            // touching the vector classes is what fails without the module, do it here rather than mid solve
+            scan.find(new int[]{0, 1}, 0, 1);
+            return scan;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
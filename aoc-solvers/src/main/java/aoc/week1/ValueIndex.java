@@ -0,0 +1,102 @@
+package aoc.week1;
+
+import aoc.utils.collections.PackedBitSet;
+
+/**
+ * The values of a report whose entries lie in a small range, as two bitsets over that range: the values present
+ * and the values present more than once, which is all a pair needs to know about duplicates.
+ * Whether {@code target - x} is in the report is one array read, no hashing, and the index is built once for
+ * any number of targets.
+ */
+public final class ValueIndex {
+    /**
+     * Widest range of values indexed, 2^22 bits or 512 KB per bitset.
+     */
+    public static final int MAX_DOMAIN = 1 << 22;
+    // a range this many times the number of entries still costs about what hashing them does
+    private static final int DENSITY = 16;
+
+    private final int min;
+    private final int domain;
+    private final PackedBitSet present;
+    private final PackedBitSet repeated;
+
+    public ValueIndex(int[] values) {
+        if (span(values) > MAX_DOMAIN) throw new IllegalArgumentException("values span more than " + MAX_DOMAIN);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        this.min = values.length == 0 ? 0 : min;
+        domain = values.length == 0 ? 0 : max - min + 1;
+        present = new PackedBitSet(domain);
+        repeated = new PackedBitSet(domain);
+        for (int value : values) {
+            int offset = value - this.min;
+            if (present.get(offset)) {
+                repeated.set(offset);
+            } else {
+                present.set(offset);
+            }
+        }
+    }
+
+    /**
+     * Tells whether the values of the report are close enough together for an index to pay off against
+     * hashing them: within {@link #MAX_DOMAIN} and at most {@code 16n} apart for {@code n} entries.
+     */
+    public static boolean fits(int[] values) {
+        return span(values) <= Math.min(MAX_DOMAIN, (long) DENSITY * values.length);
+    }
+
+    // number of values from the smallest to the largest entry
+    private static long span(int[] values) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return values.length == 0 ? 0 : max - min + 1;
+    }
+
+    public boolean contains(long value) {
+        long offset = value - min;
+        return offset >= 0 && offset < domain && present.get((int) offset);
+    }
+
+    /**
+     * Values {@code first <= second} of two entries adding up to {@code target}, smallest first value, or {@code null}.
+     */
+    public int[] pair(long target) {
+        // first values below this need a partner above the largest value
+        long start = Math.max(0, target - 2L * min - (domain - 1));
+        if (start >= domain) {
+            return null;
+        }
+        for (int offset = present.nextSetBit((int) start); offset >= 0; offset = present.nextSetBit(offset + 1)) {
+            long first = (long) min + offset;
+            long second = target - first;
+            if (second < first) {
+                break;
+            }
+            if (second == first ? repeated.get(offset) : contains(second)) {
+                return new int[]{(int) first, (int) second};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@link #pair} for each of {@code targets}.
+     */
+    public int[][] pairs(long... targets) {
+        int[][] pairs = new int[targets.length][];
+        for (int i = 0; i < targets.length; i++) {
+            pairs[i] = pair(targets[i]);
+        }
+        return pairs;
+    }
+}
@@ -11,7 +11,7 @@ public class Day10 extends AbstractDay {
 
 
     private Day10() {
-        super(Day10.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day10.class));
     }
 
     @Override
@@ -1,11 +1,8 @@
 package aoc.week2;
 
 import aoc.utils.AbstractDay;
-
-import java.util.Arrays;
-import java.util.OptionalInt;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.IntStream;
+import aoc.utils.automaton.DenseAutomaton;
+import aoc.utils.automaton.Rule;
 
 /**
  * --- Day 11: Seating System ---
@@ -203,58 +200,44 @@ import java.util.stream.IntStream;
  * Your puzzle answer was 2144.
  */
 public class Day11 extends AbstractDay {
-
+    private static final byte EMPTY = Rule.DEAD;
+    private static final byte OCCUPIED = Rule.ALIVE;
+    private static final byte FLOOR = 2;
 
     private Day11() {
-        super(Day11.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day11.class));
     }
 
-
-    private int count(int i, int j, int [][] seats, int limit) {
-        return IntStream.range(-1, 2).map(x -> IntStream.range(-1, 2).map(y -> {
-            if (x == 0 && y == 0) {
-                return 0;
+    /**
+     * Seats see the first seat in each direction within {@code reach}, floor never changes.
+     */
+    private int countSeatsAfterAssignment(int reach, int maxOccupied) {
+        int width = lines.get(0).length();
+        byte[] cells = new byte[lines.size() * width];
+        for (int i = 0; i < lines.size(); i++) {
+            for (int j = 0; j < width; j++) {
+                char c = lines.get(i).charAt(j);
+                cells[i * width + j] = c == 'L' ? EMPTY : c == '#' ? OCCUPIED : FLOOR;
             }
-            OptionalInt oz = IntStream.range(1, limit)
-                    .filter(z -> i + (x * z) >= 0 && i + (x * z) < seats.length)
-                    .filter(z -> j + (y * z) >= 0 && j + (y * z) < seats[j].length)
-                    .filter(z -> seats[i + (x * z)][j + (y * z)] != '.')
-                    .findFirst();
-            return oz.isPresent() ? seats[i + (x * oz.getAsInt())][j + (y * oz.getAsInt())] == '#' ? 1 : 0 : 0;
-        }).sum()).sum();
-    }
-
-    private boolean reassignSeats(int [][] seats, int limit, int count) {
-        AtomicBoolean changed = new AtomicBoolean(false);
-        int [][] tmp = IntStream.range(0, seats.length)
-                .mapToObj(i -> IntStream.range(0, seats[i].length)
-                        .map(j -> (seats[i][j] == 'L' && count(i, j, seats, limit) == 0 && (changed.getAndSet(true) || true))
-                                ? '#'
-                                : (seats[i][j] == '#' && count(i, j, seats, limit) >= count && (changed.getAndSet(true) || true))
-                                ? 'L'
-                                : seats[i][j]).toArray()).toArray(int[][]::new);
-        for (int i = 0; i < seats.length; ++i) {
-            seats[i] = tmp[i];
         }
-        return changed.get();
-    }
-
-
-    private int countSeatsAfterAssignment(int limit, int maxOccupied) {
-        int[][] seats = lines.stream().map(s -> s.chars().toArray()).toArray(int[][]::new);
-        while (reassignSeats(seats, limit, maxOccupied));
-        return Arrays.stream(seats).mapToInt(a -> (int) Arrays.stream(a).filter(c -> c == '#').count()).sum();
-
+        DenseAutomaton seats = DenseAutomaton.grid(cells, width, reach, cell -> cells[cell] != FLOOR,
+                (state, occupied) -> state == EMPTY && occupied == 0
+                        ? OCCUPIED
+                        : state == OCCUPIED && occupied >= maxOccupied
+                        ? EMPTY
+                        : state).parallel(true);
+        seats.runUntilStable();
+        return seats.count(OCCUPIED);
     }
 
     @Override
     public String solve1() {
-        return "count = " + countSeatsAfterAssignment(2, 4);
+        return "count = " + countSeatsAfterAssignment(1, 4);
     }
 
     @Override
     public String solve2() {
-        return "count = " + countSeatsAfterAssignment(lines.size()+lines.get(0).length(), 5);
+        return "count = " + countSeatsAfterAssignment(Integer.MAX_VALUE, 5);
     }
 
     public static void main(String args[]) {
@@ -72,12 +72,12 @@ public class Day12 extends AbstractDay {
 
 
     private Day12() {
-        super(Day12.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day12.class));
     }
 
     private int[] navigate(int[] position, int[] dir) {
-        lines.stream().forEach(s -> {
-            int distance = Integer.parseInt(s.substring(1));
+        lineStream().forEach(s -> {
+            int distance = Integer.parseInt(s, 1, s.length(), 10);
             switch (s.charAt(0)) {
                 case 'N' : position[0] += distance; break;
                 case 'S' : position[0] -= distance; break;
@@ -108,8 +108,8 @@ public class Day12 extends AbstractDay {
     }
 
     private int[] navigateToWayPoint(int [] position, int[] waypoint) {
-        lines.stream().forEach(s -> {
-            int distance = Integer.parseInt(s.substring(1));
+        lineStream().forEach(s -> {
+            int distance = Integer.parseInt(s, 1, s.length(), 10);
             switch (s.charAt(0)) {
                 case 'N' : waypoint[0] += distance; break;
                 case 'S' : waypoint[0] -= distance; break;
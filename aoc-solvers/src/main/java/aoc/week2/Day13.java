@@ -120,7 +120,7 @@ public class Day13 extends AbstractDay {
 
 
     private Day13() {
-        super(Day13.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day13.class));
     }
 
     @Override
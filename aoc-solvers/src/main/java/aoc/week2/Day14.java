@@ -1,10 +1,9 @@
 package aoc.week2;
 
 import aoc.utils.AbstractDay;
+import aoc.utils.Tokenizer;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -100,16 +99,16 @@ public class Day14 extends AbstractDay {
 
     @FunctionalInterface
     private interface Mask {
-        void assign(Map<Long, String> memory, String address, String input, String mask);
+        void assign(Map<Long, String> memory, long address, String input, String mask);
     }
 
     private Day14() {
-        super(Day14.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day14.class));
     }
 
     @Override
     public String solve1() {
-        return  "" + fillMemory((m, reg, input, mask) -> m.put(Long.parseLong(reg), applyMask(mask, input)))
+        return  "" + fillMemory((m, reg, input, mask) -> m.put(reg, applyMask(mask, input)))
                 .values().stream()
                 .mapToLong(s -> Long.valueOf(s, 2))
                 .sum();
@@ -120,17 +119,17 @@ public class Day14 extends AbstractDay {
         char[] tmp = new char[36];
         Arrays.fill(tmp, 'X');
         String mask = new String(tmp);
+        Tokenizer t = new Tokenizer();
         for (String line : lines) {
-            String[] parts = line.split("\\s*=\\s*");
-            if (parts[0].equals("mask")) {
-                mask = parts[1];
+            t.reset(line);
+            if (t.skipIf("mask = ")) {
+                mask = t.rest();
             } else {
-                Matcher m = Pattern.compile("mem\\[(\\d+)\\]").matcher(parts[0]);
-                if (m.matches()) {
-                    String reg = m.group(1);
-                    String input = pad(Integer.toBinaryString(Integer.parseInt(parts[1])), 36);
-                    maskFn.assign(memory, reg, input, mask);
-                }
+                t.skip("mem[");
+                long address = t.nextLong();
+                t.skip("] = ");
+                String input = pad(Integer.toBinaryString(t.nextInt()), 36);
+                maskFn.assign(memory, address, input, mask);
             }
         }
         return memory;
@@ -187,7 +186,7 @@ public class Day14 extends AbstractDay {
     @Override
     public String solve2() {
         return  "" + fillMemory((m, reg, input, mask) -> {
-            String mem =  pad(Integer.toBinaryString(Integer.parseInt(reg)), 36);
+            String mem =  pad(Long.toBinaryString(reg), 36);
             for (String address : applyMask2(mask, mem)) {
                 m.put(Long.parseLong(address, 2), input);
             }
@@ -111,7 +111,17 @@ public class Day8 extends AbstractDay {
     private List<instruction> instructions;
 
     private Day8() {
-        super(Day8.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day8.class));
+        parseInstructions();
+    }
+
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
+        parseInstructions();
+    }
+
+    private void parseInstructions() {
         instructions = new ArrayList<>();
         instructions.addAll(lines.stream()
                 .map(s -> s.split(" "))
@@ -92,7 +92,14 @@ public class Day9 extends AbstractDay {
 
     private final List<Long> numbers = new ArrayList<>();
     private Day9() {
-        super(Day9.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day9.class));
+        numbers.addAll(lines.stream().map(Long::parseLong).collect(Collectors.toList()));
+    }
+
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
+        numbers.clear();
         numbers.addAll(lines.stream().map(Long::parseLong).collect(Collectors.toList()));
     }
 
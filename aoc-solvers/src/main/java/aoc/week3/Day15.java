@@ -1,11 +1,10 @@
 package aoc.week3;
 
 import aoc.utils.AbstractDay;
+import aoc.utils.Progress;
+import aoc.utils.Scratch;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.LongStream;
+import java.util.Arrays;
 
 /**
  * --- Day 15: Rambunctious Recitation ---
@@ -64,21 +63,26 @@ import java.util.stream.LongStream;
 public class Day15 extends AbstractDay {
 
     private Day15() {
-        super(Day15.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day15.class));
     }
 
     private String solve(int target) {
-        Map<Long, Long> lastSpoken = new HashMap<>();
-        String[] a = lines.get(0).split(",");
-        for (int i = 0; i < a.length; ++i) {
-            lastSpoken.put(Long.parseLong(a[i]), (long)(i+1));
+        int[] start = Arrays.stream(lines.get(0).split(",")).mapToInt(Integer::parseInt).toArray();
+        // every number spoken is an age, so smaller than the turn; the table holds the last turn, 0 for never
+        int[] lastSpoken = Scratch.ints(Math.max(target, Arrays.stream(start).max().getAsInt() + 1));
+        for (int i = 0; i < start.length; ++i) {
+            lastSpoken[start[i]] = i+1;
         }
-        AtomicLong last = new AtomicLong(0);
-        LongStream.range(lastSpoken.size()+1, target).forEach(i -> {
-            Long n = lastSpoken.put(last.get(), i);
-            last.set(n == null ? 0 : (i - n));
-        });
-        return "" + last.get();
+        int last = 0;
+        try (Progress progress = Progress.start("Day15 to " + target, target)) {
+            for (int i = start.length+1; i < target; i++) {
+                progress.at(i);
+                int n = lastSpoken[last];
+                lastSpoken[last] = i;
+                last = n == 0 ? 0 : (i - n);
+            }
+        }
+        return "" + last;
     }
 
     @Override
@@ -1,10 +1,11 @@
 package aoc.week3;
 
 import aoc.utils.AbstractDay;
+import aoc.utils.Incremental;
+import aoc.utils.Tokenizer;
+import aoc.utils.collections.IntList;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -73,64 +74,102 @@ import java.util.stream.Collectors;
  *
  * Your puzzle answer was 2766491048287.
  */
-public class Day16 extends AbstractDay {
+public class Day16 extends AbstractDay implements Incremental {
 
 
     private Map<String, boolean[]> rules;
     private int[] myTicket;
-    private List<int[]> validTickets;
     private List<int[]> invalidTickets;
+    // per rule, the columns every valid ticket so far agrees with
+    private Map<String, boolean[]> columns;
+    private boolean[] valid;
+    private int cond = 0;
+    private final Tokenizer t = new Tokenizer();
+    private final IntList values = new IntList();
 
     private Day16() {
-        super(Day16.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day16.class));
         rules = new HashMap<>();
-        List<int[]>tickets = new LinkedList<>();
-        int cond = 0;
-        for (String line : lines) {
+        invalidTickets = new ArrayList<>();
+        parse(lines);
+    }
+
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
+        rules = new HashMap<>();
+        invalidTickets = new ArrayList<>();
+        columns = null;
+        valid = null;
+        cond = 0;
+        parse(lines);
+    }
+
+    /**
+     * More nearby tickets, each one only narrows down the columns its fields can belong to.
+     */
+    @Override
+    public void append(List<String> more) {
+        appendLines(more);
+        parse(more);
+    }
+
+    private void parse(List<String> input) {
+        for (String line : input) {
             switch (cond) {
                 case 0:
                     if (line.equals("your ticket:")) {
+                        valid = anyRule();
                         cond++;
                     } else {
-                        parseRule(rules, line);
+                        parseRule(rules, t.reset(line));
                     }
                     break;
                 case 1:
                     if (line.equals("nearby tickets:")) {
                         cond++;
                     } else {
-                        myTicket = parseTicket(line);
+                        myTicket = parseTicket(t.reset(line), values);
+                        columns = new HashMap<>();
+                        for (String rule : rules.keySet()) {
+                            boolean[] fits = new boolean[myTicket.length];
+                            Arrays.fill(fits, true);
+                            columns.put(rule, fits);
+                        }
                     }
                     break;
                 default:
-                    tickets.add(parseTicket(line));
+                    addTicket(parseTicket(t.reset(line), values));
             }
         }
-        List<int[]>[] sortedTickets = splitTickets(tickets);
-        validTickets = sortedTickets[0];
-        invalidTickets = sortedTickets[1];
     }
 
-    private int[] parseTicket(String line) {
-        return Arrays.stream(line.split(",")).mapToInt(Integer::parseInt).toArray();
+    private int[] parseTicket(Tokenizer t, IntList values) {
+        values.clear();
+        values.add(t.nextInt());
+        while (t.hasNext()) {
+            values.add(t.expect(',').nextInt());
+        }
+        return values.toArray();
     }
 
-    private void parseRule(Map<String, boolean[]> map, String line) {
-        Matcher m = Pattern.compile("(\\D+) (\\d+)-(\\d+) or (\\d+)-(\\d+)").matcher(line);
-        if (!m.matches()) throw new IllegalArgumentException(line + " does not match");
-        int highestBound = Integer.parseInt(m.group(5));
+    private void parseRule(Map<String, boolean[]> map, Tokenizer t) {
+        String name = t.nextUntil(':');
+        int low1 = t.skip(": ").nextInt();
+        int high1 = t.expect('-').nextInt();
+        int low2 = t.skip(" or ").nextInt();
+        int highestBound = t.expect('-').nextInt();
         boolean[] res = new boolean[highestBound+1];
-        for (int i = Integer.parseInt(m.group(2)); i <= Integer.parseInt(m.group(3)); ++i){
+        for (int i = low1; i <= high1; ++i){
             res[i] = true;
         }
-        for (int i = Integer.parseInt(m.group(4)); i <= highestBound; ++i) {
+        for (int i = low2; i <= highestBound; ++i) {
             res[i] = true;
         }
-        map.put(m.group(1), res);
+        map.put(name, res);
     }
 
-
-    private List<int[]>[] splitTickets(List<int[]> tickets) {
+    private boolean[] anyRule() {
         boolean[] valid = new boolean[rules.values().stream().mapToInt(a -> a.length).max().getAsInt()];
         rules.values().stream().forEach(a -> {
             for (int i = 0; i < a.length; i++) {
@@ -139,15 +178,23 @@ public class Day16 extends AbstractDay {
                 }
             }
         });
-        return new List[]{
-                tickets.stream()
-                        .filter(a -> Arrays.stream(a).allMatch(i -> i < valid.length && valid[i]))
-                        .collect(Collectors.toList()),
-                tickets.stream()
-                        .map(a -> Arrays.stream(a).filter(i -> i >= valid.length || !valid[i]).toArray())
-                        .filter(a -> a.length > 0)
-                        .collect(Collectors.toList())
-        };
+        return valid;
+    }
+
+    private void addTicket(int[] ticket) {
+        int[] invalid = Arrays.stream(ticket).filter(i -> i >= valid.length || !valid[i]).toArray();
+        if (invalid.length > 0) {
+            invalidTickets.add(invalid);
+            return;
+        }
+        for (Map.Entry<String, boolean[]> c : columns.entrySet()) {
+            boolean[] rule = rules.get(c.getKey());
+            for (int i = 0; i < ticket.length; i++) {
+                if (ticket[i] >= rule.length || !rule[ticket[i]]) {
+                    c.getValue()[i] = false;
+                }
+            }
+        }
     }
 
     @Override
@@ -160,20 +207,7 @@ public class Day16 extends AbstractDay {
 
     @Override
     public String solve2() {
-        Map<String, Boolean[]> possibles = rules.keySet().stream().collect(Collectors.toMap(s -> s, s -> new Boolean[myTicket.length]));
-        possibles.values().stream().forEach(a -> Arrays.fill(a, true));
-        validTickets.forEach(a -> {
-                    for (int i = 0; i < a.length; i++) {
-                        int val = a[i];
-                        for (Map.Entry<String, Boolean[]> p : possibles.entrySet()) {
-                            boolean[] valid = rules.get(p.getKey());
-                            if (val > valid.length || !valid[val]) {
-                                p.getValue()[i] = false;
-                            }
-                        }
-                    }
-                });
-        Map<String, Set<Integer>> rulePosition = possibles.entrySet()
+        Map<String, Set<Integer>> rulePosition = columns.entrySet()
                 .stream()
                 .collect(Collectors.toMap(e -> e.getKey(),
                 e -> {
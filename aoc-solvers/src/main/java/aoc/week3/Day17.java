@@ -1,12 +1,10 @@
 package aoc.week3;
 
 import aoc.utils.AbstractDay;
-
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
+import aoc.utils.automaton.Moore;
+import aoc.utils.automaton.Rule;
+import aoc.utils.automaton.SparseAutomaton;
+import aoc.utils.collections.LongHashSet;
 
 /**
  * --- Day 17: Conway Cubes ---
@@ -405,47 +403,10 @@ import java.util.function.Function;
  * Your puzzle answer was 2400.
  */
 public class Day17 extends AbstractDay {
-
-    private class Point {
-        int x, y, z, w;
-
-        public Point(int x, int y, int z, int w) {
-            this.x = x;
-            this.y = y;
-            this.z = z;
-            this.w = w;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            Point point = (Point) o;
-            return x == point.x &&
-                    y == point.y &&
-                    z == point.z &&
-                    w == point.w;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(x, y, z, w);
-        }
-
-        @Override
-        public String toString() {
-            final StringBuffer sb = new StringBuffer("Point{");
-            sb.append("x=").append(x);
-            sb.append(", y=").append(y);
-            sb.append(", z=").append(z);
-            sb.append(", w=").append(w);
-            sb.append('}');
-            return sb.toString();
-        }
-    }
+    private static final Rule CONWAY = (state, active) -> active == 3 || (state == Rule.ALIVE && active == 2) ? Rule.ALIVE : Rule.DEAD;
 
     private Day17() {
-        super(Day17.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day17.class));
     }
 
     @Override
@@ -454,67 +415,22 @@ public class Day17 extends AbstractDay {
     }
 
     private String getActiveCount(int dimensions) {
-        Set<Point> cur = getPoints();
-        Set<Point> next = new HashSet<>();
-        for (int n = 0; n < 6; n++) {
-            for (int i = getmin(cur, p -> p.x); i <= getmax(cur, p -> p.x); i++) {
-                for (int j = getmin(cur, p -> p.y); j <=  getmax(cur, p -> p.y); j++) {
-                    for (int k = getmin(cur, p -> p.z); k <= getmax(cur, p -> p.z); k++) {
-                        for (int l = getmin(cur, p -> p.w); l <= getmax(cur, p -> p.w); l++) {
-                            Point p = new Point(i, j, k, dimensions == 4 ? l : 0);
-                            if (activate(cur, p, dimensions)) {
-                                next.add(p);
-                            }
-                        }
-                    }
+        Moore space = new Moore(dimensions);
+        LongHashSet active = new LongHashSet();
+        for (int x = 0; x < lines.size(); x++) {
+            String s = lines.get(x);
+            for (int y = 0; y < s.length(); y++) {
+                if (s.charAt(y) == '#') {
+                    int[] coordinates = new int[dimensions];
+                    coordinates[0] = x;
+                    coordinates[1] = y;
+                    active.add(space.encode(coordinates));
                 }
             }
-            cur = next;
-            next = new HashSet<>();
         }
-        return "" + cur.size();
-    }
-
-    private int getmin(Set<Point> cur, Function<Point, Integer> fn) {
-        return cur.stream().mapToInt(fn::apply).min().getAsInt() - 1;
-    }
-
-
-    private int getmax(Set<Point> cur, Function<Point, Integer> fn) {
-        return cur.stream().mapToInt(fn::apply).max().getAsInt() + 1;
-    }
-
-    private Set<Point> getPoints() {
-        AtomicInteger x = new AtomicInteger(0);
-        Set<Point> cur = new HashSet<>();
-        lines.forEach(s -> {
-            AtomicInteger y = new AtomicInteger(0);
-            s.chars().forEach(ch -> {
-                if (ch == '#') {
-                    cur.add(new Point(x.get(), y.get(), 0, 0));
-                }
-                y.incrementAndGet();
-            });
-            x.incrementAndGet();
-        });
-        return cur;
-    }
-
-    private boolean activate(Set<Point> points, Point p, int dimensions) {
-        int count = 0;
-        for (int x = -1; x <= 1; x++) {
-            for (int y = -1; y <= 1; y++) {
-                for (int z = -1; z <= 1; z++) {
-                    for (int w = -1; w <= 1; w++) {
-                        if (dimensions != 4 && w != 0) continue;
-                        Point p2 = new Point(p.x + x, p.y + y, p.z + z,  dimensions == 4 ? p.w + w : 0);
-                        if (!p.equals(p2) && points.contains(p2)) count++;
-                    }
-                }
-            }
-        }
-        return (points.contains(p) && count == 2) || count == 3;
-
+        SparseAutomaton cubes = new SparseAutomaton(space, CONWAY, active).parallel(true);
+        cubes.run(6);
+        return "" + cubes.size();
     }
 
     @Override
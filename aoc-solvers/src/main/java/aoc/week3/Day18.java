@@ -73,7 +73,7 @@ public class Day18 extends AbstractDay {
     AtomicBoolean useInvertedOrder = new AtomicBoolean(false);
 
     private Day18() {
-        super(Day18.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day18.class));
     }
 
     private long eval(String line) {
@@ -148,7 +148,19 @@ public class Day19 extends AbstractDay {
     Map<String, String> cfg;
 
     private Day19() {
-        super(Day19.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day19.class));
+        parse();
+    }
+
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
+        rules.clear();
+        this.input.clear();
+        parse();
+    }
+
+    private void parse() {
         boolean text = false;
         for (String line : lines) {
             if (line.equals("")) {
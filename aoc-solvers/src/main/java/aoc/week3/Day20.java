@@ -1,10 +1,10 @@
 package aoc.week3;
 
 import aoc.utils.AbstractDay;
+import aoc.utils.AnswerCache;
+import aoc.utils.BitGrid;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 /**
  * --- Day 20: Jurassic Jigsaw ---
@@ -270,64 +270,78 @@ import java.util.stream.Collectors;
  */
 public class Day20 extends AbstractDay {
 
-    private static final int DRAGON_HEIGHT = 3-1; //0 indexing
-    private static final int DRAGON_WIDTH = 20-1; //0 indexing
-    private final Map<Integer, List<List<Boolean>>> tiles;
-    private final Map<Integer, Map<Integer, List<Boolean>>> edgeInfo;
-    private final Map<Integer, List<Integer>> neighbors;
+    private static final String[] DRAGON = {
+            "                  # ",
+            "#    ##    ##    ###",
+            " #  #  #  #  #  #   "
+    };
+    private Map<Integer, BitGrid> tiles;
+    private Map<Integer, List<Integer>> neighbors;
 
-    private List<Map.Entry<Integer, Integer>> dragonPattern() {
-        String[] pattern = new String[] {
-                "                  # ",
-                "#    ##    ##    ###",
-                " #  #  #  #  #  #   "
-        };
-        LinkedList<Map.Entry<Integer, Integer>> res = new LinkedList<>();
-        for (int i = 0; i < pattern.length; i++) {
-            for (int j = 0; j < pattern[i].length(); j++) {
-                if (pattern[i].charAt(j) == '#') {
-                    res.add(Map.entry(i,j));
-                }
-            }
-        }
-        return res;
+    private Day20() {
+        super(resource(Day20.class));
+        tiles = parseInput();
+        neighbors = matchTiles();
     }
 
-    private Day20() {
-        super(Day20.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
         tiles = parseInput();
-        edgeInfo = getBoundaryMap(tiles);
         neighbors = matchTiles();
     }
 
-    private Map<Integer, List<List<Boolean>>> parseInput() {
-        Map<Integer, List<List<Boolean>>> tiles = new HashMap<>();
-        List<List<Boolean>> curTile = new LinkedList<>();
+    private Map<Integer, BitGrid> parseInput() {
+        Map<Integer, BitGrid> tiles = new HashMap<>();
+        List<String> curTile = new ArrayList<>();
         Integer tile = null;
         for (String line : lines) {
             if (line.startsWith("Tile")) {
                 if (tile != null) {
-                    tiles.put(tile, curTile);
+                    tiles.put(tile, BitGrid.of(curTile, '#'));
                 }
                 tile = Integer.parseInt(line.substring(5, line.length()-1));
-                curTile = new LinkedList<>();
+                curTile = new ArrayList<>();
             } else if (!line.equals("")) {
-               curTile.add(line.chars().mapToObj(c -> c == '#').collect(Collectors.toList()));
+               curTile.add(line);
             }
         }
-        tiles.put(tile, curTile);
+        tiles.put(tile, BitGrid.of(curTile, '#'));
         return tiles;
     }
 
+    /**
+     * Top, right, bottom and left edge, each read left to right or top to bottom.
+     */
+    private static long[] edges(BitGrid tile) {
+        return new long[]{tile.row(0), tile.col(tile.cols()-1), tile.row(tile.rows()-1), tile.col(0)};
+    }
+
+    // an edge and its reverse match each other, so they share a key
+    private static long edgeKey(long edge, int length) {
+        return Math.min(edge, Long.reverse(edge) >>> (64 - length));
+    }
+
     private  Map<Integer, List<Integer>>  matchTiles() {
-        return edgeInfo.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, tile -> tile.getValue().values().stream().map(edge -> {
-            Integer oTile = findMatchingTile(edgeInfo, tile.getKey(), edge);
-            if (oTile == null) {
-                // reverse reverse
-                oTile = findMatchingTile(edgeInfo, tile.getKey(), reverseList(edge));
+        Map<Long, List<Integer>> byEdge = new HashMap<>();
+        tiles.forEach((id, tile) -> {
+            for (long edge : edges(tile)) {
+                byEdge.computeIfAbsent(edgeKey(edge, tile.cols()), k -> new ArrayList<>()).add(id);
             }
-            return oTile;
-        }).filter(Objects::nonNull).collect(Collectors.toList())));
+        });
+        Map<Integer, List<Integer>> neighbors = new HashMap<>();
+        tiles.forEach((id, tile) -> {
+            List<Integer> matches = new ArrayList<>();
+            for (long edge : edges(tile)) {
+                for (int other : byEdge.get(edgeKey(edge, tile.cols()))) {
+                    if (other != id) {
+                        matches.add(other);
+                    }
+                }
+            }
+            neighbors.put(id, matches);
+        });
+        return neighbors;
     }
 
     @Override
@@ -335,131 +349,40 @@ public class Day20 extends AbstractDay {
         return "" + neighbors.entrySet().stream().filter(e -> e.getValue().size() == 2).mapToLong(Map.Entry::getKey).reduce(1L, (a,b) -> a*b);
     }
 
-    private Map<Integer, Map<Integer, List<Boolean>>> getBoundaryMap(Map<Integer, List<List<Boolean>>> tiles) {
-        return tiles.entrySet().stream().collect(Collectors.toMap(e -> e.getKey(), e-> {
-                Map<Integer, List<Boolean>> boundaries = new HashMap<>();
-                boundaries.put(1, e.getValue().get(0));
-                List<Boolean> left = new LinkedList<>();
-                List<Boolean> right = new LinkedList<>();
-                e.getValue().forEach(bs -> {
-                    left.add(bs.get(0));
-                    right.add(bs.get(bs.size()-1));
-                });
-                boundaries.put(2, right);
-                boundaries.put(4, e.getValue().get(e.getValue().size()-1));
-                boundaries.put(8, left);
-                return boundaries;
-            }));
+    private boolean sharesEdge(long edge, BitGrid tile) {
+        long key = edgeKey(edge, tile.cols());
+        return Arrays.stream(edges(tile)).anyMatch(e -> edgeKey(e, tile.cols()) == key);
     }
 
-    private Integer findMatchingTile(Map<Integer, Map<Integer, List<Boolean>>> edgeMap, Integer thisTile, List<Boolean> edgeBs) {
-        return edgeMap.entrySet()
-                            .stream()
-                            .filter(o -> o.getKey() != thisTile)
-                            .filter(o -> o.getValue().containsValue(edgeBs))
-                            .map(Map.Entry::getKey).findFirst().orElse(null);
-    }
-
-    private List<List<Boolean>> arrangeTiles(Map<Integer, List<List<Boolean>>> tiles, int tile, int[][] tileLocations, int i, int j) {
-        Map<Integer, Map<Integer, List<Boolean>>> edgeMap = getBoundaryMap(tiles);
-        Map<Integer, List<Boolean>> thisEdges = edgeMap.get(tile);
-        int top = 0;
-        int left = 0;
-        if (i > 0) {
-            int up = tileLocations[i-1][j];
-            top = getMatchedEdge(edgeMap, thisEdges, up);
-        } else {
-            int down = tileLocations[1][j];
-            int bottom = getMatchedEdge(edgeMap, thisEdges, down);
-            switch (bottom) {
-                case 1: top = 4; break;
-                case 2: top = 8; break;
-                case 4: top = 1; break;
-                case 8: top = 2; break;
-            }
-        }
-        if (j > 0) {
-            int leftN = tileLocations[i][j-1];
-            left = getMatchedEdge(edgeMap, thisEdges, leftN);
-        } else {
-            int right = tileLocations[i][1];
-            int rightEdge = getMatchedEdge(edgeMap, thisEdges, right);
-            switch (rightEdge) {
-                case 1: left = 4; break;
-                case 2: left = 8; break;
-                case 4: left = 1; break;
-                case 8: left = 2; break;
-            }
-        }
-
-        List<List<Boolean>> oImage = tiles.get(tile);
-        if (tile == 1951) {
-            System.out.println(tile + "\ttop: " + top + "\tleft: " + left + "\n" + convertToImage(bs2Is(oImage)));
-            System.out.println("rotate1: " + convertToImage(bs2Is(rotatecc(oImage))));
-            System.out.println("rotate2: " + convertToImage(bs2Is(rotatecc(rotatecc(oImage)))));
-            System.out.println("rotate2+flip: " + convertToImage(bs2Is(flip(rotatecc(rotatecc(oImage))))));
-
-        }
-
-
-        if (top == 1) {
-            if (left == 2) {
-                //System.out.println(tile + " flipped about the vertical axis");
-                return (flip(oImage));
-            } else {
-                //System.out.println(tile + " normal");
-                return (oImage);
-
-            }
-        } else if (top == 2) {
-            if (left == 1) {
-                //System.out.println(tile + " rotate counter clockwise");
-                return (rotatecc(oImage));
-
-            } else {
-                //System.out.println(tile + " rotate counter clockwise and flip");
-                return (flip(rotatecc(oImage)));
-
-            }
-        } else if (top == 4) {
-            if (left == 2) {
-                //System.out.println(tile + " rotate 180");
-                return (rotatecc(rotatecc(oImage)));
-
-            } else {
-                //System.out.println(tile + " rotate 180 and flip");
-                return (flip(rotatecc(rotatecc(oImage))));
-
-            }
-        } else { // top == 8
-            if (left == 1) {
-                // rotate clockwise and flip
-                //System.out.println(tile + " rotate clockwise and flip");
-                return (flip(rotatecc(rotatecc(rotatecc(oImage)))));
-            } else {
-                // rotate clockwise
-                //System.out.println(tile + " rotate clockwise and flip");
-                return (rotatecc(rotatecc(rotatecc(oImage))));
+    /**
+     * The orientation of the tile at (i, j) whose edges line up with the tiles already oriented above and left of it.
+     * Tiles on the top row and left column have nothing there, they have to face the tile below or right of them.
+     */
+    private BitGrid arrangeTile(int[][] tileLocations, BitGrid[][] oriented, int i, int j) {
+        int last = tiles.get(tileLocations[i][j]).cols() - 1;
+        for (BitGrid o : tiles.get(tileLocations[i][j]).orientations()) {
+            boolean fitsLeft = j > 0
+                    ? o.col(0) == oriented[i][j-1].col(last)
+                    : sharesEdge(o.col(last), tiles.get(tileLocations[i][1]));
+            boolean fitsTop = i > 0
+                    ? o.row(0) == oriented[i-1][j].row(last)
+                    : sharesEdge(o.row(last), tiles.get(tileLocations[1][j]));
+            if (fitsLeft && fitsTop) {
+                return o;
             }
         }
+        throw new IllegalStateException("tile " + tileLocations[i][j] + " fits nowhere at " + i + "," + j);
     }
 
-    private List<List<Boolean>> formImage(int[][] tileLocations) {
-        List<List<Boolean>> fullImage = new LinkedList<>();
+    private BitGrid formImage(int[][] tileLocations) {
+        int size = tiles.values().iterator().next().rows() - 2;
+        BitGrid fullImage = new BitGrid(tileLocations.length * size, tileLocations.length * size);
+        BitGrid[][] oriented = new BitGrid[tileLocations.length][tileLocations.length];
         for (int i = 0; i < tileLocations.length; i++) {
-            List<List<Boolean>> curImage = new LinkedList<>();
             for (int j = 0; j < tileLocations[i].length; j++) {
-                List<List<Boolean>> tileImg = removeBoarder(arrangeTiles(tiles, tileLocations[i][j], tileLocations, i, j));
-                if (curImage.isEmpty()) {
-                    for (int k = 0; k < tileImg.size(); k++) {
-                        curImage.add(new LinkedList<>());
-                    }
-                }
-                for (int k = 0; k <curImage.size(); k++) {
-                    curImage.get(k).addAll(tileImg.get(k));
-                }
+                oriented[i][j] = arrangeTile(tileLocations, oriented, i, j);
+                fullImage.paste(oriented[i][j].sub(1, 1, size, size), i * size, j * size);
             }
-            fullImage.addAll(curImage);
         }
         return fullImage;
     }
@@ -509,88 +432,50 @@ public class Day20 extends AbstractDay {
         return tileLocations;
     }
 
-    private List<List<Integer>> replaceMonsters(List<List<Integer>> sea, boolean flipped, int rotation) {
-        List<Map.Entry<Integer, Integer>> pattern = dragonPattern();
-        for (int i = 0; i < sea.size() - DRAGON_HEIGHT; ++i) {
-            for (int j = 0; j < sea.get(i).size() - DRAGON_WIDTH; ++j) {
-                int finalI = i;
-                int finalJ = j;
-                if (pattern.stream().allMatch(e -> sea.get(finalI + e.getKey()).get(finalJ + e.getValue()) == 1)) {
-                    pattern.stream().forEach(e -> sea.get(finalI + e.getKey()).set(finalJ + e.getValue(), 2));
+    /**
+     * Marks the sea monsters of every orientation of the sea in {@code monsters}, through a view turned the same way.
+     */
+    private void findMonsters(BitGrid sea, BitGrid monsters) {
+        for (int i = 0; i + DRAGON.length <= sea.rows(); ++i) {
+            for (int j = 0; j + DRAGON[0].length() <= sea.cols(); ++j) {
+                if (isMonster(sea, i, j)) {
+                    for (int di = 0; di < DRAGON.length; di++) {
+                        for (int dj = 0; dj < DRAGON[di].length(); dj++) {
+                            if (DRAGON[di].charAt(dj) == '#') {
+                                monsters.set(i + di, j + dj, true);
+                            }
+                        }
+                    }
                 }
             }
         }
-        if (rotation < 4) {
-            return replaceMonsters(rotatecc(sea), flipped, rotation+1);
-        } else if (!flipped) {
-            return replaceMonsters(flip(sea), true, 0);
-        } else {
-            return sea;
-        }
-
     }
 
-    private int getMatchedEdge(Map<Integer, Map<Integer, List<Boolean>>> edgeMap, Map<Integer, List<Boolean>> thisEdges, int neighbor) {
-        int top;
-        Collection<List<Boolean>> upEdges = new HashSet<>(edgeMap.get(neighbor).values());
-        Set<List<Boolean>> reverseEdges = upEdges.stream().map(Day20::reverseList).collect(Collectors.toSet());
-        top = thisEdges.entrySet().stream()
-                .filter(e -> upEdges.contains(e.getValue()))
-                .mapToInt(Map.Entry::getKey)
-                .findFirst().orElseGet(() -> thisEdges.entrySet().stream()
-                        .filter(e -> reverseEdges.contains(e.getValue()))
-                        .mapToInt(Map.Entry::getKey)
-                        .findFirst().getAsInt());
-        return top;
+    private boolean isMonster(BitGrid sea, int i, int j) {
+        for (int di = 0; di < DRAGON.length; di++) {
+            for (int dj = 0; dj < DRAGON[di].length(); dj++) {
+                if (DRAGON[di].charAt(dj) == '#' && !sea.get(i + di, j + dj)) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     @Override
     public String solve2() {
-        int[][] tileLocations = placeTiles();
-        List<List<Boolean>> fullImage = formImage(tileLocations);
-        return "" + replaceMonsters(bs2Is(fullImage), false, 0).stream().mapToLong(bs -> bs.stream().filter(b -> b == 1).count()).sum();
+        int[][] tileLocations = persisted("placement", AnswerCache.INT_GRID, this::placeTiles);
+        BitGrid fullImage = formImage(tileLocations);
+        BitGrid monsters = new BitGrid(fullImage.rows(), fullImage.cols());
+        List<BitGrid> seas = fullImage.orientations();
+        List<BitGrid> marks = monsters.orientations();
+        for (int k = 0; k < seas.size(); k++) {
+            findMonsters(seas.get(k), marks.get(k));
+        }
+        return "" + (fullImage.count() - monsters.count());
     }
 
     public static void main(String args[]) {
         new Day20().main();
     }
-
-
-    private static  <T> List<List<T>>  flip(List<List<T>> oImage) {
-        return oImage.stream().map(Day20::reverseList).collect(Collectors.toList());
-    }
-
-    private static <T> List<T> reverseList(List<T> list) {
-        List<T> revEdge = new LinkedList<>();
-        for (T t : list) {
-            revEdge.add(0, t);
-        }
-        return revEdge;
-    }
-
-    private static List<List<Integer>> bs2Is(List<List<Boolean>> fullImage) {
-        return fullImage.stream().map(bs -> bs.stream().map(b -> b ? 1 : 0).collect(Collectors.toList())).collect(Collectors.toList());
-    }
-
-    private static  <T> List<List<T>>  rotatecc(List<List<T>> oImage) {
-        List<List<T>> res = oImage.get(0).stream().map(b -> new LinkedList<T>()).collect(Collectors.toList());
-        for (List<T> row : oImage) {
-            for (int j = 0; j < row.size(); ++j) {
-                res.get(row.size()-1 -j).add(row.get(j));
-            }
-        }
-        return res;
-    }
-
-    private static String convertToImage(List<List<Integer>> img) {
-        AtomicInteger lineNumber = new AtomicInteger(0);
-        return img.stream()
-                .map(bs -> lineNumber.getAndIncrement()+"\t" + bs.stream().map(i -> i == 1 ? "#" : ".").collect(Collectors.joining()))
-                .collect(Collectors.joining("\n"));
-    }
-
-    private static <T> List<List<T>> removeBoarder(List<List<T>> o) {
-        return o.stream().skip(1).limit(o.size()-2).map(bs -> bs.subList(1, bs.size()-1)).collect(Collectors.toList());
-    }
-
 }
@@ -1,6 +1,7 @@
 package aoc.week3;
 
 import aoc.utils.AbstractDay;
+import aoc.utils.Incremental;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -45,15 +46,33 @@ import java.util.stream.Collectors;
  *
  * Your puzzle answer was fsr,skrxt,lqbcg,mgbv,dvjrrkv,ndnlm,xcljh,zbhp.
  */
-public class Day21 extends AbstractDay {
+public class Day21 extends AbstractDay implements Incremental {
 
     Map<String, Set<String>> appearsWithAllergens = new HashMap<>();
     Map<String, Set<String>> possibleAllergens = new HashMap<>();
     Map<String, Integer> ingredientFrequency = new HashMap<>();
     Pattern p = Pattern.compile("(.*) \\(contains (.*)\\)");
     private Day21() {
-        super(Day21.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
-        parseAllergens();
+        super(resource(Day21.class));
+        parseAllergens(lines);
+    }
+
+    @Override
+    public void load(List<String> input) {
+        super.load(input);
+        appearsWithAllergens.clear();
+        possibleAllergens.clear();
+        ingredientFrequency.clear();
+        parseAllergens(lines);
+    }
+
+    /**
+     * New foods only add to the frequencies and narrow down the ingredients each allergen can be in.
+     */
+    @Override
+    public void append(List<String> more) {
+        appendLines(more);
+        parseAllergens(more);
     }
 
     @Override
@@ -64,8 +83,8 @@ public class Day21 extends AbstractDay {
                 .sum();
     }
 
-    private void parseAllergens() {
-        lines.stream().forEach(s -> {
+    private void parseAllergens(List<String> foods) {
+        foods.stream().forEach(s -> {
             Matcher m = p.matcher(s);
             if (m.matches()) {
                 List<String> ingredients = Arrays.asList(m.group(1).split(" "));
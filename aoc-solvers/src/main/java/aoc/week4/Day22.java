@@ -389,7 +389,7 @@ public class Day22 extends AbstractDay {
     List<Integer> deck2;
 
     private Day22() {
-        super(Day22.class.getCanonicalName().replaceAll("\\.", "/").toLowerCase());
+        super(resource(Day22.class));
     }
 
     private void parseInput() {
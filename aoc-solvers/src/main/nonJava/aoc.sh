@@ -0,0 +1,19 @@
+#!/bin/bash
+# Runs a day (or the Runner without arguments) from build/libs/aoc.jar,
+# using the class data sharing archive from `gradle cdsArchive` when it exists.
+#   aoc.sh aoc.week1.Day2
+#   aoc.sh aoc.utils.Runner --days 1,2
+root=$(cd "$(dirname "$0")/../../.." && pwd)
+jar=${AOC_JAR:-$root/build/libs/aoc.jar}
+archive=${AOC_JSA:-$root/build/aoc.jsa}
+
+opts=()
+# the Vector API scan of Day1 needs the incubator module, JDKs that ship it list it in their release file
+java_home=$(dirname "$(dirname "$(readlink -f "$(command -v java)")")")
+if grep -q jdk.incubator.vector "$java_home/release" 2>/dev/null; then
+    opts+=(--add-modules jdk.incubator.vector)
+fi
+if [ -f "$archive" ]; then
+    opts+=("-XX:SharedArchiveFile=$archive")
+fi
+exec java "${opts[@]}" $JAVA_OPTS -cp "$jar" "${@:-aoc.utils.Runner}"
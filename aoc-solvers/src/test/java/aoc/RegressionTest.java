@@ -0,0 +1,135 @@
+package aoc;
+
+import aoc.utils.AbstractDay;
+import aoc.utils.Days;
+import aoc.utils.PartMetrics;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Solves every part listed in {@code aoc/regression.txt} and compares it against the known answer and a
+ * baseline of its time and allocation, so {@code gradle test} fails on performance regressions just like on
+ * wrong answers. A part may take the margin of its line times its baseline, and never less than
+ * {@link #MIN_MILLIS} and {@link #MIN_MEGABYTES}, below which one GC pause or JIT compilation is all it takes.
+ * Lines without a margin of their own take {@code aoc.regression.margin}, which when set overrides every line.
+ * {@code aoc.regression.verbose} prints what each part took.
+ * <pre>
+ * gradle :aoc-solvers:test --tests 'aoc.RegressionTest.*Day15 *' -Paoc.regression.margin=4
+ * </pre>
+ */
+@RunWith(Parameterized.class)
+public class RegressionTest {
+    private static final String BASELINE = "aoc/regression.txt";
+    private static final double MIN_MILLIS = 100;
+    private static final double MIN_MEGABYTES = 20;
+
+    private static final String DEFAULT_MARGIN = "3";
+
+    private static double defaultMargin;
+    private static boolean marginOverridden;
+    private static boolean verbose;
+
+    private final int day;
+    private final int part;
+    private final double baselineMillis;
+    private final double baselineMegabytes;
+    private final String margin;
+    private final String answer;
+
+    public RegressionTest(String name, int day, int part, double baselineMillis, double baselineMegabytes,
+                          String margin, String answer) {
+        this.day = day;
+        this.part = part;
+        this.baselineMillis = baselineMillis;
+        this.baselineMegabytes = baselineMegabytes;
+        this.margin = margin;
+        this.answer = answer;
+    }
+
+    @BeforeClass
+    public static void setUp() {
+        String margin = System.getProperty("aoc.regression.margin");
+        marginOverridden = margin != null;
+        defaultMargin = Double.parseDouble(marginOverridden ? margin : DEFAULT_MARGIN);
+        verbose = Boolean.getBoolean("aoc.regression.verbose");
+        // the baselines are for solving, not for reading answers back from the cache
+        System.setProperty("aoc.cache", "false");
+    }
+
+    /**
+     * One part per line: {@code day part baseline-ms baseline-MB margin answer}, the answer is the rest of the line
+     * and the margin {@code -} for the default.
+     */
+    @Parameters(name = "Day{1} part {2}")
+    public static List<Object[]> baselines() {
+        InputStream in = RegressionTest.class.getClassLoader().getResourceAsStream(BASELINE);
+        if (in == null) throw new IllegalStateException(BASELINE + " not found");
+        List<Object[]> baselines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(" ", 6);
+                if (fields.length != 6) throw new IllegalArgumentException(BASELINE + ": " + line);
+                baselines.add(new Object[]{"Day" + fields[0] + " part " + fields[1], Integer.parseInt(fields[0]),
+                        Integer.parseInt(fields[1]), Double.parseDouble(fields[2]), Double.parseDouble(fields[3]),
+                        fields[4], fields[5]});
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return baselines;
+    }
+
+    @Test
+    public void solvesWithinBudget() {
+        Class<? extends AbstractDay> solver = Days.forNumber(day);
+        PrintStream out = System.out;
+        PartMetrics metrics;
+        // days print debug output of their own
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            // parsing happens in the constructors, it is part of the budget
+            metrics = PartMetrics.measure(solver.getSimpleName(), part, () -> {
+                AbstractDay instance = Days.create(solver);
+                return part == 1 ? instance.solve1() : instance.solve2();
+            });
+        } finally {
+            System.setOut(out);
+        }
+        double millis = metrics.wallNanos / 1e6;
+        double megabytes = metrics.allocatedBytes / 1e6;
+        if (verbose) {
+            out.printf("Day%-3d part %d %10.1f ms %10.1f MB%n", day, part, millis, megabytes);
+        }
+
+        assertEquals(answer, metrics.answer);
+        double allowed = marginOverridden || margin.equals("-") ? defaultMargin : Double.parseDouble(margin);
+        double maxMillis = Math.max(MIN_MILLIS, baselineMillis * allowed);
+        assertTrue(String.format("took %.1f ms, budget %.1f ms", millis, maxMillis), millis <= maxMillis);
+        if (metrics.allocatedBytes >= 0) {
+            double maxMegabytes = Math.max(MIN_MEGABYTES, baselineMegabytes * allowed);
+            assertTrue(String.format("allocated %.1f MB, budget %.1f MB", megabytes, maxMegabytes),
+                    megabytes <= maxMegabytes);
+        }
+    }
+}
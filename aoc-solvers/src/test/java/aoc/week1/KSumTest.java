@@ -0,0 +1,239 @@
+package aoc.week1;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class KSumTest {
+    private static final int[] EXAMPLE = {1721, 979, 366, 299, 675, 1456};
+
+    @Test
+    public void example() {
+        assertArrayEquals(new int[]{0, 3}, new KSum(EXAMPLE).find(2, 2020));
+        assertArrayEquals(new int[]{1, 2, 4}, new KSum(EXAMPLE).find(3, 2020));
+    }
+
+    @Test
+    public void singleEntry() {
+        assertArrayEquals(new int[]{2}, new KSum(EXAMPLE).find(1, 366));
+        assertNull(new KSum(EXAMPLE).find(1, 2020));
+    }
+
+    @Test
+    public void moreEntriesThanTheReportHas() {
+        assertNull(new KSum(new int[]{1, 2}).find(3, 3));
+        assertNull(new KSum(new int[0]).find(1, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroEntries() {
+        new KSum(EXAMPLE).find(0, 0);
+    }
+
+    @Test
+    public void duplicatesAreDifferentEntries() {
+        int[] values = {5, 1, 5, 5};
+        assertArrayEquals(new int[]{0, 2}, new KSum(values).find(2, 10));
+        assertArrayEquals(new int[]{0, 2, 3}, new KSum(values).find(3, 15));
+        assertNull(new KSum(new int[]{5, 1, 2}).find(2, 10));
+    }
+
+    @Test
+    public void negativeValues() {
+        int[] values = {-7, 4, -2, 9, 0};
+        assertSolves(values, 2, 2, new KSum(values).find(2, 2));
+        assertSolves(values, 3, -9, new KSum(values).find(3, -9));
+        assertSolves(values, 4, 4, new KSum(values).find(4, 4));
+    }
+
+    @Test
+    public void noSolution() {
+        int[] values = IntStream.range(0, 100).map(i -> i * 2).toArray();
+        for (int k = 1; k <= 4; k++) {
+            assertNull(new KSum(values).find(k, 1));
+            assertNull(new KSum(values).find(k, 1_000_000));
+        }
+    }
+
+    // sparse values take the hash path for pairs, dense ones the index; small reports are brute forced, large swept
+    @Test
+    public void agreesWithTryingEveryCombination() {
+        Random random = new Random(2020);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(round % 2 == 0 ? 20 : 80);
+            int bound = round % 4 < 2 ? 30 : 1_000_000;
+            int[] values = random.ints(n, -bound, bound).toArray();
+            for (int k = 1; k <= Math.min(4, n); k++) {
+                long target = random.nextBoolean() ? sumOfRandomEntries(values, k, random) : random.nextInt(8 * bound) - 4 * bound;
+                int[] found = new KSum(values).find(k, target);
+                if (exists(values, 0, k, target)) {
+                    assertSolves(values, k, target, found);
+                } else {
+                    assertNull(found);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bruteForceFindsTheLowestIndices() {
+        int[] values = {3, 3, 1, 2, 3, 0};
+        assertArrayEquals(new int[]{0, 1}, new KSum(values).bruteForce(2, 6));
+        assertArrayEquals(new int[]{0, 1, 5}, new KSum(values).bruteForce(3, 6));
+        assertNull(new KSum(values).bruteForce(3, 100));
+    }
+
+    @Test
+    public void parallelSweepFindsWhatTheSequentialOneDoes() {
+        Random random = new Random(2020);
+        // past the parallel threshold, with plenty of duplicates
+        int[] values = random.ints(1 << 15, 0, 1 << 14).toArray();
+        for (int k = 3; k <= 4; k++) {
+            // one past the largest sum has no solution; only for triples, quadruples would take O(n^3) to rule it out
+            long unreachable = k == 3 ? 3L * (1 << 14) : -1;
+            for (long target : new long[]{100, 5_000, 20_000, -1, unreachable}) {
+                int[] sequential = new KSum(values).find(k, target);
+                int[] parallel = new KSum(values).parallel(true).find(k, target);
+                assertArrayEquals("k=" + k + " target=" + target, sequential, parallel);
+                if (sequential != null) {
+                    assertSolves(values, k, target, parallel);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void forEachPairCountsIndexPairs() {
+        int[] values = {1, 2, 2, 3, 3, 3, 4, -1, 6};
+        List<String> pairs = new ArrayList<>();
+        new KSum(values).forEachPair(5, (first, second, count) -> pairs.add(first + "+" + second + "x" + count));
+        assertEquals(List.of("-1+6x1", "1+4x1", "2+3x6"), pairs);
+    }
+
+    @Test
+    public void forEachTripleCountsIndexTriples() {
+        int[] values = {1, 2, 2, 3, 3, 3, 4, 0};
+        List<String> triples = new ArrayList<>();
+        new KSum(values).forEachTriple(9, (first, second, third, count) ->
+                triples.add(first + "+" + second + "+" + third + "x" + count));
+        assertEquals(List.of("2+3+4x6", "3+3+3x1"), triples);
+    }
+
+    @Test
+    public void streamsHoldWhatTheCallbacksGet() {
+        int[] values = {1, 2, 2, 3, 3, 3, 4, -1, 6, 0};
+        assertEquals(List.of("-1+6x1", "1+4x1", "2+3x6"), strings(new KSum(values).pairs(5)));
+        assertEquals(List.of("-1+4+6x1", "0+3+6x3", "1+2+6x2", "2+3+4x6", "3+3+3x1"), strings(new KSum(values).triples(9)));
+        assertEquals(List.of(), strings(new KSum(values).pairs(100)));
+        assertEquals(List.of(), strings(new KSum(new int[0]).triples(0)));
+    }
+
+    @Test
+    public void streamsAreLazy() {
+        int[] values = IntStream.range(0, 1000).toArray();
+        assertEquals(List.of("0+999x1", "1+998x1"), strings(new KSum(values).pairs(999).limit(2)));
+        assertEquals("0+1+998x1", new KSum(values).triples(999).findFirst().get().toString());
+    }
+
+    @Test
+    public void countsAgreeWithTryingEveryCombination() {
+        Random random = new Random(2020);
+        for (int round = 0; round < 100; round++) {
+            int[] values = random.ints(1 + random.nextInt(40), -10, 10).toArray();
+            long target = random.nextInt(30) - 15;
+            long[] triples = {0};
+            new KSum(values).forEachTriple(target, (first, second, third, count) -> triples[0] += count);
+            assertEquals(countTuples(values, 2, target), sumOfPairCounts(values, target));
+            assertEquals(countTuples(values, 3, target), triples[0]);
+            assertEquals(countTuples(values, 2, target), new KSum(values).pairs(target).mapToLong(p -> p.count).sum());
+            assertEquals(countTuples(values, 3, target), new KSum(values).triples(target).mapToLong(t -> t.count).sum());
+        }
+    }
+
+    // n(n-1)(n-2) alone is past the long range here
+    @Test
+    public void countsOfHugeDuplicateRunsDontOverflow() {
+        int[] values = new int[2_200_000];
+        Arrays.fill(values, 673);
+        assertEquals(List.of("673+673+673x1774664246667400000"), strings(new KSum(values).triples(2019)));
+        assertEquals(List.of("673+673x2419998900000"), strings(new KSum(values).pairs(1346)));
+    }
+
+    @Test
+    public void countsPastTheLongRangeSaturate() {
+        int[] values = new int[6_300_000];
+        Arrays.fill(values, 0, 2_100_000, 672);
+        Arrays.fill(values, 2_100_000, 4_200_000, 673);
+        Arrays.fill(values, 4_200_000, values.length, 674);
+        assertEquals(List.of("672+673+674x" + Long.MAX_VALUE, "673+673+673x1543497795000700000"),
+                strings(new KSum(values).triples(2019)));
+    }
+
+    private static List<String> strings(Stream<?> solutions) {
+        return solutions.map(Object::toString).collect(Collectors.toList());
+    }
+
+    private static long sumOfPairCounts(int[] values, long target) {
+        long[] total = {0};
+        new KSum(values).forEachPair(target, (first, second, count) -> total[0] += count);
+        return total[0];
+    }
+
+    private static long sumOfRandomEntries(int[] values, int k, Random random) {
+        long sum = 0;
+        for (int i : random.ints(0, values.length).distinct().limit(k).toArray()) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    private static void assertSolves(int[] values, int k, long target, int[] found) {
+        assertNotNull("k=" + k + " target=" + target, found);
+        assertEquals(k, found.length);
+        long sum = 0;
+        for (int i = 0; i < k; i++) {
+            assertTrue(i == 0 || found[i - 1] < found[i]);
+            sum += values[found[i]];
+        }
+        assertEquals(target, sum);
+    }
+
+    private static boolean exists(int[] values, int from, int k, long target) {
+        if (k == 0) {
+            return target == 0;
+        }
+        for (int i = from; i <= values.length - k; i++) {
+            if (exists(values, i + 1, k - 1, target - values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long countTuples(int[] values, int k, long target) {
+        return countTuples(values, 0, k, target);
+    }
+
+    private static long countTuples(int[] values, int from, int k, long target) {
+        if (k == 0) {
+            return target == 0 ? 1 : 0;
+        }
+        long count = 0;
+        for (int i = from; i <= values.length - k; i++) {
+            count += countTuples(values, i + 1, k - 1, target - values[i]);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,60 @@
+package aoc.week1;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class PairScansTest {
+    @Test
+    public void scalarFindsTheFirstPairInIndexOrder() {
+        int[] values = {5, 1, 4, 2, 3, 3};
+        long pair = PairScans.SCALAR.find(values, 0, 6);
+        assertEquals(0, pair >>> 32);
+        assertEquals(1, (int) pair);
+        pair = PairScans.SCALAR.find(values, 1, 6);
+        assertEquals(2, pair >>> 32);
+        assertEquals(3, (int) pair);
+    }
+
+    @Test
+    public void scalarPairsEqualValuesOnlyWhenThereAreTwo() {
+        assertEquals(PairScan.NONE, PairScans.SCALAR.find(new int[]{3, 1, 2}, 0, 6));
+        long pair = PairScans.SCALAR.find(new int[]{3, 1, 3}, 0, 6);
+        assertEquals(0, pair >>> 32);
+        assertEquals(2, (int) pair);
+    }
+
+    @Test
+    public void scalarHandlesNegativeValuesAndMissingPairs() {
+        int[] values = {-7, 4, -2, 9};
+        long pair = PairScans.SCALAR.find(values, 0, 2);
+        assertEquals(0, pair >>> 32);
+        assertEquals(3, (int) pair);
+        assertEquals(PairScan.NONE, PairScans.SCALAR.find(values, 0, 100));
+        assertEquals(PairScan.NONE, PairScans.SCALAR.find(new int[0], 0, 0));
+        assertEquals(PairScan.NONE, PairScans.SCALAR.find(new int[]{1}, 0, 2));
+    }
+
+    @Test
+    public void vectorAgreesWithScalar() {
+        PairScan vector = PairScans.vector();
+        Assume.assumeNotNull(vector);
+        Random random = new Random(2020);
+        for (int round = 0; round < 200; round++) {
+            // odd lengths and starts leave tails that don't fill a vector
+            int[] values = random.ints(1 + random.nextInt(300), -500, 500).toArray();
+            int from = random.nextInt(values.length);
+            long target = random.nextInt(2000) - 1000;
+            assertEquals(PairScans.SCALAR.find(values, from, target), vector.find(values, from, target));
+        }
+    }
+
+    @Test
+    public void fastestIsTheVectorScanWhenThereIsOne() {
+        PairScan expected = PairScans.vector() != null ? PairScans.vector() : PairScans.SCALAR;
+        assertEquals(expected, PairScans.fastest());
+    }
+}
@@ -0,0 +1,95 @@
+package aoc.week1;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ValueIndexTest {
+    @Test
+    public void containsExactlyTheValues() {
+        ValueIndex index = new ValueIndex(new int[]{-3, 5, 2, 5});
+        assertTrue(index.contains(-3));
+        assertTrue(index.contains(2));
+        assertTrue(index.contains(5));
+        assertFalse(index.contains(0));
+        assertFalse(index.contains(-4));
+        assertFalse(index.contains(6));
+        assertFalse(index.contains(Long.MAX_VALUE));
+        assertFalse(index.contains(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void pairHasTheSmallestFirstValue() {
+        ValueIndex index = new ValueIndex(new int[]{1721, 979, 366, 299, 675, 1456});
+        assertArrayEquals(new int[]{299, 1721}, index.pair(2020));
+        ValueIndex several = new ValueIndex(new int[]{4, 1, 3, 2});
+        assertArrayEquals(new int[]{1, 4}, several.pair(5));
+    }
+
+    @Test
+    public void equalValuesPairOnlyWhenThereAreTwo() {
+        assertNull(new ValueIndex(new int[]{3, 1, 4}).pair(6));
+        assertArrayEquals(new int[]{3, 3}, new ValueIndex(new int[]{3, 1, 3}).pair(6));
+        assertArrayEquals(new int[]{3, 3}, new ValueIndex(new int[]{3, 3, 3}).pair(6));
+    }
+
+    @Test
+    public void negativeValues() {
+        ValueIndex index = new ValueIndex(new int[]{-10, -4, 3, 7});
+        assertArrayEquals(new int[]{-10, 7}, index.pair(-3));
+        assertArrayEquals(new int[]{-10, -4}, index.pair(-14));
+    }
+
+    @Test
+    public void targetsWithoutPair() {
+        ValueIndex index = new ValueIndex(new int[]{1, 2, 4});
+        assertNull(index.pair(4));
+        assertNull(index.pair(100));
+        assertNull(index.pair(-100));
+        assertNull(index.pair(Long.MAX_VALUE));
+        assertNull(index.pair(Long.MIN_VALUE));
+        assertNull(new ValueIndex(new int[0]).pair(0));
+        assertNull(new ValueIndex(new int[]{1}).pair(2));
+    }
+
+    @Test
+    public void pairsAnswersEveryTarget() {
+        ValueIndex index = new ValueIndex(new int[]{1, 2, 3, 5});
+        int[][] pairs = index.pairs(3, 4, 12);
+        assertArrayEquals(new int[]{1, 2}, pairs[0]);
+        assertArrayEquals(new int[]{1, 3}, pairs[1]);
+        assertNull(pairs[2]);
+    }
+
+    @Test
+    public void fitsDependsOnTheNumberOfEntries() {
+        assertTrue(ValueIndex.fits(new int[0]));
+        assertTrue(ValueIndex.fits(new int[]{7, 7}));
+        assertTrue(ValueIndex.fits(new int[]{0, 31}));
+        assertFalse(ValueIndex.fits(new int[]{0, 32}));
+        assertFalse(ValueIndex.fits(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}));
+        // dense enough for that many entries, but no wider than the domain either way
+        assertTrue(ValueIndex.fits(withSpread(1 << 20, ValueIndex.MAX_DOMAIN - 1)));
+        assertFalse(ValueIndex.fits(withSpread(1 << 20, ValueIndex.MAX_DOMAIN)));
+    }
+
+    @Test
+    public void indexesSparseValuesWithinTheDomain() {
+        ValueIndex index = new ValueIndex(new int[]{0, ValueIndex.MAX_DOMAIN - 1});
+        assertArrayEquals(new int[]{0, ValueIndex.MAX_DOMAIN - 1}, index.pair(ValueIndex.MAX_DOMAIN - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsValuesBeyondTheDomain() {
+        new ValueIndex(new int[]{0, ValueIndex.MAX_DOMAIN});
+    }
+
+    private static int[] withSpread(int n, int span) {
+        int[] values = new int[n];
+        values[n - 1] = span;
+        return values;
+    }
+}
@@ -0,0 +1,39 @@
+package aoc.week1;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link PairScan} comparing a whole vector of entries at once. For each first entry the value its partner needs
+ * is broadcast to every lane and compared with the following entries a vector at a time, the first set lane is
+ * the match; the tail shorter than a vector is compared one by one.
+ */
+public final class VectorPairScan implements PairScan {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public long find(int[] values, int from, long target) {
+        int n = values.length;
+        for (int i = from; i < n - 1; i++) {
+            long rest = target - values[i];
+            if (rest != (int) rest) {
+                continue;
+            }
+            IntVector wanted = IntVector.broadcast(SPECIES, (int) rest);
+            int j = i + 1;
+            for (int bound = j + SPECIES.loopBound(n - j); j < bound; j += SPECIES.length()) {
+                VectorMask<Integer> hits = IntVector.fromArray(SPECIES, values, j).eq(wanted);
+                if (hits.anyTrue()) {
+                    return (long) i << 32 | (j + hits.firstTrue());
+                }
+            }
+            for (; j < n; j++) {
+                if (values[j] == rest) {
+                    return (long) i << 32 | j;
+                }
+            }
+        }
+        return NONE;
+    }
+}